@@ -0,0 +1,22 @@
+package com.moonlight.moonlightbackend.config;
+
+import com.moonlight.moonlightbackend.service.AdminTokenService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class AdminAuthConfig {
+
+    @Bean
+    public FilterRegistrationBean<AdminAuthFilter> adminAuthFilter(
+            AdminTokenService adminTokenService,
+            @Value("${app.cors.allowed-origin:http://localhost:8080}") String allowedOrigin) {
+        FilterRegistrationBean<AdminAuthFilter> registration =
+                new FilterRegistrationBean<>(new AdminAuthFilter(adminTokenService, allowedOrigin));
+        registration.addUrlPatterns("/api/admin/*");
+        registration.setOrder(10);
+        return registration;
+    }
+}
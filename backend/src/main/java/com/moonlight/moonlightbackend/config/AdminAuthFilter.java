@@ -0,0 +1,67 @@
+package com.moonlight.moonlightbackend.config;
+
+import com.moonlight.moonlightbackend.service.AdminTokenService;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Optional;
+
+/**
+ * Requires a valid admin token on /api/admin/**, except the auth endpoints.
+ * EventSource cannot send headers, so the order stream may pass the token as
+ * an {@code access_token} query parameter instead.
+ */
+public class AdminAuthFilter extends OncePerRequestFilter {
+
+    public static final String PRINCIPAL_ATTRIBUTE = "adminPrincipal";
+
+    private static final String BEARER = "Bearer ";
+
+    private final AdminTokenService adminTokenService;
+    private final String allowedOrigin;
+
+    public AdminAuthFilter(AdminTokenService adminTokenService, String allowedOrigin) {
+        this.adminTokenService = adminTokenService;
+        this.allowedOrigin = allowedOrigin;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return HttpMethod.OPTIONS.matches(request.getMethod()) || path.startsWith("/api/admin/auth/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        Optional<AdminTokenService.AdminPrincipal> principal = adminTokenService.verify(extractToken(request));
+        if (principal.isEmpty()) {
+            // Without CORS headers the browser would hide the 401 from the admin UI
+            response.setHeader(HttpHeaders.ACCESS_CONTROL_ALLOW_ORIGIN, allowedOrigin);
+            response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            response.getWriter().write("{\"message\":\"Authentication required\"}");
+            return;
+        }
+        request.setAttribute(PRINCIPAL_ATTRIBUTE, principal.get());
+        chain.doFilter(request, response);
+    }
+
+    public static String extractToken(HttpServletRequest request) {
+        String header = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (header != null && header.startsWith(BEARER)) {
+            return header.substring(BEARER.length()).trim();
+        }
+        if (request.getRequestURI().endsWith("/orders/stream")) {
+            return request.getParameter("access_token");
+        }
+        return null;
+    }
+}
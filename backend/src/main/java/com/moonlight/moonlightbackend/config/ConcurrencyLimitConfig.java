@@ -0,0 +1,56 @@
+package com.moonlight.moonlightbackend.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+@Configuration
+@ConditionalOnProperty(name = "app.limits.enabled", havingValue = "true", matchIfMissing = true)
+public class ConcurrencyLimitConfig {
+
+    @Bean
+    public FilterRegistrationBean<ConcurrencyLimitFilter> concurrencyLimitFilter(
+            MeterRegistry meterRegistry,
+            @Value("${app.limits.min:2}") int min,
+            @Value("${app.limits.backoff-ratio:0.9}") double backoffRatio,
+            @Value("${app.limits.retry-after-seconds:1}") long retryAfterSeconds,
+            @Value("${app.limits.checkout.max:100}") int checkoutMax,
+            @Value("${app.limits.checkout.target-latency-ms:250}") long checkoutTargetMs,
+            @Value("${app.limits.batch.max:8}") int batchMax,
+            @Value("${app.limits.batch.target-latency-ms:2000}") long batchTargetMs,
+            @Value("${app.limits.customer.max:100}") int customerMax,
+            @Value("${app.limits.customer.target-latency-ms:200}") long customerTargetMs,
+            @Value("${app.limits.admin.max:20}") int adminMax,
+            @Value("${app.limits.admin.target-latency-ms:500}") long adminTargetMs,
+            @Value("${app.cors.allowed-origin:http://localhost:8080}") String allowedOrigin) {
+        Map<ConcurrencyLimitFilter.RequestClass, ConcurrencyLimiter> limiters =
+                new EnumMap<>(ConcurrencyLimitFilter.RequestClass.class);
+        limiters.put(ConcurrencyLimitFilter.RequestClass.CHECKOUT,
+                limiter(checkoutMax, min, checkoutTargetMs, backoffRatio));
+        limiters.put(ConcurrencyLimitFilter.RequestClass.BATCH,
+                limiter(batchMax, min, batchTargetMs, backoffRatio));
+        limiters.put(ConcurrencyLimitFilter.RequestClass.CUSTOMER,
+                limiter(customerMax, min, customerTargetMs, backoffRatio));
+        limiters.put(ConcurrencyLimitFilter.RequestClass.ADMIN,
+                limiter(adminMax, min, adminTargetMs, backoffRatio));
+
+        FilterRegistrationBean<ConcurrencyLimitFilter> registration = new FilterRegistrationBean<>(
+                new ConcurrencyLimitFilter(limiters, meterRegistry, retryAfterSeconds, allowedOrigin));
+        registration.addUrlPatterns("/api/*");
+        // Ahead of every other filter so shed requests cost nothing downstream
+        registration.setOrder(1);
+        return registration;
+    }
+
+    // Starts at half the ceiling and adapts from there
+    private static ConcurrencyLimiter limiter(int max, int min, long targetMs, double backoffRatio) {
+        return new ConcurrencyLimiter(max / 2, min, max, Duration.ofMillis(targetMs).toNanos(), backoffRatio);
+    }
+}
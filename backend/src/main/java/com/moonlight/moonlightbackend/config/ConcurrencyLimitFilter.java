@@ -0,0 +1,138 @@
+package com.moonlight.moonlightbackend.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.dao.TransientDataAccessResourceException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.sql.SQLTransientConnectionException;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Load shedding in front of the API. Requests are classed as checkout writes, batch
+ * orders, other customer calls or admin calls, each with its own adaptive limit; a
+ * request over its class limit, or an admin read while checkout is at its limit, is
+ * answered 503 with Retry-After before it takes a database connection. Batches get a
+ * class of their own because their latency grows with their size. Order streams and
+ * exports are long-lived by design and are not limited.
+ *
+ * Limits shrink on slow responses and on failures that mean the database is saturated or
+ * unreachable; client errors and application bugs say nothing about capacity and are ignored.
+ */
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    public enum RequestClass { CHECKOUT, BATCH, CUSTOMER, ADMIN }
+
+    private final Map<RequestClass, ConcurrencyLimiter> limiters;
+    private final Map<RequestClass, Counter> rejected = new EnumMap<>(RequestClass.class);
+    private final String retryAfterSeconds;
+    private final String allowedOrigin;
+
+    public ConcurrencyLimitFilter(Map<RequestClass, ConcurrencyLimiter> limiters, MeterRegistry registry,
+                                  long retryAfterSeconds, String allowedOrigin) {
+        this.limiters = new EnumMap<>(limiters);
+        this.retryAfterSeconds = Long.toString(retryAfterSeconds);
+        this.allowedOrigin = allowedOrigin;
+        for (Map.Entry<RequestClass, ConcurrencyLimiter> e : this.limiters.entrySet()) {
+            String tag = e.getKey().name().toLowerCase(Locale.ROOT);
+            ConcurrencyLimiter limiter = e.getValue();
+            Gauge.builder("http.concurrency.limit", limiter, ConcurrencyLimiter::getLimit)
+                    .description("Current adaptive concurrency limit").tag("class", tag).register(registry);
+            Gauge.builder("http.concurrency.in_flight", limiter, ConcurrencyLimiter::getInFlight)
+                    .description("Requests currently admitted").tag("class", tag).register(registry);
+            rejected.put(e.getKey(), Counter.builder("http.concurrency.rejected")
+                    .description("Requests shed with 503").tag("class", tag).register(registry));
+        }
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return classify(request) == null;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        RequestClass requestClass = classify(request);
+        ConcurrencyLimiter limiter = limiters.get(requestClass);
+        if (!admit(request, requestClass, limiter)) {
+            rejected.get(requestClass).increment();
+            reject(response);
+            return;
+        }
+        long started = System.nanoTime();
+        boolean failed = false;
+        try {
+            chain.doFilter(request, response);
+            failed = response.getStatus() == HttpServletResponse.SC_SERVICE_UNAVAILABLE
+                    || response.getStatus() == HttpServletResponse.SC_GATEWAY_TIMEOUT;
+        } catch (ServletException | IOException | RuntimeException e) {
+            failed = isOverload(e);
+            throw e;
+        } finally {
+            limiter.release(System.nanoTime() - started, failed);
+        }
+    }
+
+    /** No connection within the pool timeout, a lost connection or a statement timeout. */
+    static boolean isOverload(Throwable e) {
+        for (Throwable t = e; t != null; t = t.getCause()) {
+            if (t instanceof CannotCreateTransactionException || t instanceof DataAccessResourceFailureException
+                    || t instanceof TransientDataAccessResourceException || t instanceof QueryTimeoutException
+                    || t instanceof SQLTransientConnectionException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean admit(HttpServletRequest request, RequestClass requestClass, ConcurrencyLimiter limiter) {
+        // Admin reads give way while checkout is at its limit; status changes and menu edits keep the kitchen moving
+        if (requestClass == RequestClass.ADMIN && (HttpMethod.GET.matches(request.getMethod())
+                || HttpMethod.HEAD.matches(request.getMethod()))) {
+            ConcurrencyLimiter checkout = limiters.get(RequestClass.CHECKOUT);
+            if (checkout != null && checkout.isSaturated()) return false;
+        }
+        return limiter.tryAcquire();
+    }
+
+    private void reject(HttpServletResponse response) throws IOException {
+        response.setHeader(HttpHeaders.ACCESS_CONTROL_ALLOW_ORIGIN, allowedOrigin);
+        response.setHeader(HttpHeaders.RETRY_AFTER, retryAfterSeconds);
+        response.setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.getWriter().write("{\"message\":\"Server is busy, please retry\"}");
+    }
+
+    static RequestClass classify(HttpServletRequest request) {
+        if (HttpMethod.OPTIONS.matches(request.getMethod())) return null;
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        if (path.startsWith("/api/admin/")) {
+            // Login has its own bounded executor; streams and exports hold the request for minutes
+            if (path.startsWith("/api/admin/auth/") || path.equals("/api/admin/orders/stream")
+                    || path.equals("/api/admin/orders/export")) {
+                return null;
+            }
+            return RequestClass.ADMIN;
+        }
+        if (HttpMethod.POST.matches(request.getMethod())) {
+            if (path.equals("/api/orders") || path.equals("/api/reservations")) return RequestClass.CHECKOUT;
+            if (path.equals("/api/orders/batch")) return RequestClass.BATCH;
+        }
+        return path.startsWith("/api/") ? RequestClass.CUSTOMER : null;
+    }
+}
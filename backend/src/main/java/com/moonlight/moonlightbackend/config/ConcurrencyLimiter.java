@@ -0,0 +1,63 @@
+package com.moonlight.moonlightbackend.config;
+
+/**
+ * AIMD concurrency limit for one class of requests. Each response within the target
+ * latency raises the limit by one while at least half of it is in use; each slower
+ * response or server error multiplies it by the backoff ratio, at most once per target
+ * latency so a burst of requests slowed by the same stall counts once. A database that
+ * slows down therefore shrinks the number of requests allowed to wait on it.
+ */
+public class ConcurrencyLimiter {
+
+    private final int min;
+    private final int max;
+    private final long targetNanos;
+    private final double backoffRatio;
+
+    private double limit;
+    private int inFlight;
+    private long lastBackoff;
+
+    public ConcurrencyLimiter(int initial, int min, int max, long targetNanos, double backoffRatio) {
+        if (min < 1 || max < min) throw new IllegalArgumentException("Concurrency limits need 1 <= min <= max");
+        if (backoffRatio <= 0 || backoffRatio >= 1) throw new IllegalArgumentException("Backoff ratio must be in (0, 1)");
+        this.min = min;
+        this.max = max;
+        this.targetNanos = targetNanos;
+        this.backoffRatio = backoffRatio;
+        this.limit = Math.max(min, Math.min(max, initial));
+        this.lastBackoff = System.nanoTime() - targetNanos;
+    }
+
+    public synchronized boolean tryAcquire() {
+        if (inFlight >= (int) limit) return false;
+        inFlight++;
+        return true;
+    }
+
+    public synchronized void release(long latencyNanos, boolean failed) {
+        boolean busy = inFlight * 2 >= limit;
+        inFlight--;
+        if (failed || latencyNanos > targetNanos) {
+            long now = System.nanoTime();
+            if (now - lastBackoff >= targetNanos) {
+                limit = Math.max(min, limit * backoffRatio);
+                lastBackoff = now;
+            }
+        } else if (busy) {
+            limit = Math.min(max, limit + 1);
+        }
+    }
+
+    public synchronized boolean isSaturated() {
+        return inFlight >= (int) limit;
+    }
+
+    public synchronized int getLimit() {
+        return (int) limit;
+    }
+
+    public synchronized int getInFlight() {
+        return inFlight;
+    }
+}
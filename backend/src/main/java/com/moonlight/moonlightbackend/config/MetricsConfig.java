@@ -0,0 +1,29 @@
+package com.moonlight.moonlightbackend.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public HibernatePropertiesCustomizer statementCounterCustomizer() {
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, new StatementCounter());
+    }
+
+    @Bean
+    public FilterRegistrationBean<StatementMetricsFilter> statementMetricsFilter(
+            MeterRegistry meterRegistry,
+            @Value("${app.metrics.repeated-statement-threshold:10}") int repeatThreshold) {
+        FilterRegistrationBean<StatementMetricsFilter> registration =
+                new FilterRegistrationBean<>(new StatementMetricsFilter(meterRegistry, repeatThreshold));
+        registration.addUrlPatterns("/api/*");
+        registration.setOrder(5);
+        return registration;
+    }
+}
@@ -0,0 +1,62 @@
+package com.moonlight.moonlightbackend.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+
+/**
+ * Sends read-only transactions to the replica and everything else to the primary.
+ * Must sit behind a LazyConnectionDataSourceProxy: the transaction's read-only flag
+ * is only set after the transaction manager has asked for a connection.
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+    private static final Logger log = LoggerFactory.getLogger(ReadWriteRoutingDataSource.class);
+
+    public enum Route { PRIMARY, REPLICA }
+
+    private final ReplicaLagMonitor monitor;
+    private JdbcTemplate transactional;
+
+    public ReadWriteRoutingDataSource(ReplicaLagMonitor monitor) {
+        this.monitor = monitor;
+    }
+
+    /** The proxy the transaction manager binds connections under, used to read the commit position. */
+    public void setTransactionalDataSource(DataSource dataSource) {
+        this.transactional = new JdbcTemplate(dataSource);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            if (TransactionSynchronizationManager.isSynchronizationActive() && ReadYourWritesFilter.inRequest()) {
+                captureCommitPosition();
+            }
+            return Route.PRIMARY;
+        }
+        if (ReplicaRouting.primaryForced()) return Route.PRIMARY;
+        return monitor.canServe(ReplicaRouting.requiredLsn()) ? Route.REPLICA : Route.PRIMARY;
+    }
+
+    // One connection is fetched per transaction, so this registers at most once per write transaction
+    private void captureCommitPosition() {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                try {
+                    // Still the transaction's own connection: no second pool checkout while holding one
+                    String lsn = transactional.queryForObject("SELECT pg_current_wal_lsn()::text", String.class);
+                    ReadYourWritesFilter.recordWrite(ReplicaLagMonitor.parseLsn(lsn));
+                } catch (RuntimeException e) {
+                    log.debug("Could not read the commit position; later reads may hit a lagging replica", e);
+                }
+            }
+        });
+    }
+}
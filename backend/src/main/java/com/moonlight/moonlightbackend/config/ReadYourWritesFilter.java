@@ -0,0 +1,85 @@
+package com.moonlight.moonlightbackend.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseCookie;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Read-your-writes across the replica. A request that commits a write gets the
+ * primary's WAL position back as the {@code X-Read-After} header and a short-lived
+ * cookie; a later request presenting either is only served by the replica once it
+ * has replayed that far, and by the primary until then.
+ */
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+    public static final String HEADER = "X-Read-After";
+    public static final String COOKIE = "read_after";
+
+    private static final ThreadLocal<ReadYourWritesFilter> ACTIVE = new ThreadLocal<>();
+    private static final ThreadLocal<HttpServletResponse> RESPONSE = new ThreadLocal<>();
+
+    private final long pinSeconds;
+
+    public ReadYourWritesFilter(long pinSeconds) {
+        this.pinSeconds = pinSeconds;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        ReplicaRouting.requireLsn(requested(request));
+        ACTIVE.set(this);
+        RESPONSE.set(response);
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            ReplicaRouting.requireLsn(null);
+            ACTIVE.remove();
+            RESPONSE.remove();
+        }
+    }
+
+    static boolean inRequest() {
+        return ACTIVE.get() != null;
+    }
+
+    /** Called after a write commits on this request's thread. */
+    static void recordWrite(long lsn) {
+        ReplicaRouting.requireLsn(lsn);
+        ReadYourWritesFilter filter = ACTIVE.get();
+        HttpServletResponse response = RESPONSE.get();
+        if (filter == null || response == null || response.isCommitted()) return;
+        String value = ReplicaLagMonitor.formatLsn(lsn);
+        response.setHeader(HEADER, value);
+        response.addHeader(HttpHeaders.SET_COOKIE, ResponseCookie.from(COOKIE, value)
+                .path("/api")
+                .maxAge(filter.pinSeconds)
+                .httpOnly(true)
+                .sameSite("Lax")
+                .build()
+                .toString());
+    }
+
+    private static Long requested(HttpServletRequest request) {
+        String value = request.getHeader(HEADER);
+        if ((value == null || value.isBlank()) && request.getCookies() != null) {
+            for (Cookie c : request.getCookies()) {
+                if (COOKIE.equals(c.getName())) value = c.getValue();
+            }
+        }
+        if (value == null || value.isBlank()) return null;
+        try {
+            return ReplicaLagMonitor.parseLsn(value.trim());
+        } catch (IllegalArgumentException e) {
+            // A malformed token only costs the read-your-writes guarantee
+            return null;
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.moonlight.moonlightbackend.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+
+/**
+ * Tracks how far the replica has replayed the primary's WAL. The replica serves a
+ * read only while it is reachable, within {@code max-lag-bytes}, and (for sessions
+ * that just wrote) past the LSN of that write. A "replica" that is not in recovery,
+ * e.g. a second independent instance in development, never satisfies an LSN, so
+ * read-your-writes still holds there.
+ */
+public class ReplicaLagMonitor {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaLagMonitor.class);
+
+    private final JdbcTemplate primary;
+    private final JdbcTemplate replica;
+    private final long maxLagBytes;
+
+    private volatile boolean usable;
+    private volatile boolean standby;
+    private volatile long replayLsn = -1;
+    private volatile long lagBytes = -1;
+
+    public ReplicaLagMonitor(DataSource primary, DataSource replica, long maxLagBytes, MeterRegistry meterRegistry) {
+        this.primary = new JdbcTemplate(primary);
+        this.replica = new JdbcTemplate(replica);
+        this.maxLagBytes = maxLagBytes;
+        Gauge.builder("db.replica.lag", this, m -> m.lagBytes)
+                .baseUnit("bytes")
+                .description("WAL the replica has not replayed yet; -1 when unknown")
+                .register(meterRegistry);
+        Gauge.builder("db.replica.usable", this, m -> m.usable ? 1 : 0)
+                .description("Whether read-only transactions may go to the replica")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${app.datasource.replica.lag-check-ms:200}")
+    public void check() {
+        boolean wasUsable = usable;
+        try {
+            // Replica first: the lag computed against a primary position read afterwards can only overstate
+            String[] state = replica.queryForObject(
+                    "SELECT pg_is_in_recovery()::text, pg_last_wal_replay_lsn()::text",
+                    (rs, n) -> new String[]{rs.getString(1), rs.getString(2)});
+            long primaryLsn = parseLsn(primary.queryForObject("SELECT pg_current_wal_lsn()::text", String.class));
+            standby = Boolean.parseBoolean(state[0]) && state[1] != null;
+            if (standby) {
+                replayLsn = parseLsn(state[1]);
+                lagBytes = Math.max(0, primaryLsn - replayLsn);
+                usable = lagBytes <= maxLagBytes;
+            } else {
+                replayLsn = -1;
+                lagBytes = -1;
+                usable = true;
+            }
+        } catch (DataAccessException e) {
+            usable = false;
+            lagBytes = -1;
+            if (wasUsable) log.warn("Replica unavailable, reading from the primary: {}", e.getMessage());
+            return;
+        }
+        if (wasUsable != usable) {
+            if (!usable) log.info("Replica {} bytes behind, reading from the primary", lagBytes);
+            else if (standby) log.info("Read-only transactions use the replica");
+            else log.info("Replica is not a standby; read-your-writes reads will stay on the primary");
+        }
+    }
+
+    /** Whether a read needing at least {@code requiredLsn} (null for any) may use the replica. */
+    public boolean canServe(Long requiredLsn) {
+        if (!usable) return false;
+        return requiredLsn == null || (standby && replayLsn >= requiredLsn);
+    }
+
+    /** Parses a pg_lsn text value such as {@code 16/B374D848}. */
+    static long parseLsn(String lsn) {
+        int slash = lsn.indexOf('/');
+        if (slash < 0) throw new IllegalArgumentException("Not an LSN: " + lsn);
+        return (Long.parseLong(lsn.substring(0, slash), 16) << 32) | Long.parseLong(lsn.substring(slash + 1), 16);
+    }
+
+    static String formatLsn(long lsn) {
+        return Long.toHexString(lsn >>> 32).toUpperCase() + "/" + Long.toHexString(lsn & 0xFFFFFFFFL).toUpperCase();
+    }
+}
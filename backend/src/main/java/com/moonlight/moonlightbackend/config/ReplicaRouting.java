@@ -0,0 +1,49 @@
+package com.moonlight.moonlightbackend.config;
+
+import java.util.function.Supplier;
+
+/**
+ * Per-thread routing hints for {@link ReadWriteRoutingDataSource}. Without a replica
+ * configured the hints are simply ignored.
+ */
+public final class ReplicaRouting {
+
+    private static final ThreadLocal<Integer> PRIMARY_DEPTH = new ThreadLocal<>();
+    private static final ThreadLocal<Long> REQUIRED_LSN = new ThreadLocal<>();
+
+    private ReplicaRouting() {
+    }
+
+    /**
+     * Runs {@code work} with read-only transactions sent to the primary, for reads that
+     * must observe a commit that was just announced (a replica may not have replayed it yet).
+     */
+    public static <T> T onPrimary(Supplier<T> work) {
+        Integer depth = PRIMARY_DEPTH.get();
+        PRIMARY_DEPTH.set(depth == null ? 1 : depth + 1);
+        try {
+            return work.get();
+        } finally {
+            if (depth == null) PRIMARY_DEPTH.remove();
+            else PRIMARY_DEPTH.set(depth);
+        }
+    }
+
+    static boolean primaryForced() {
+        return PRIMARY_DEPTH.get() != null;
+    }
+
+    /** WAL position a replica must have replayed before it may serve this thread's reads. */
+    static Long requiredLsn() {
+        return REQUIRED_LSN.get();
+    }
+
+    static void requireLsn(Long lsn) {
+        if (lsn == null) {
+            REQUIRED_LSN.remove();
+            return;
+        }
+        Long current = REQUIRED_LSN.get();
+        if (current == null || lsn > current) REQUIRED_LSN.set(lsn);
+    }
+}
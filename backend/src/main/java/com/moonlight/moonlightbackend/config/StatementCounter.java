@@ -0,0 +1,54 @@
+package com.moonlight.moonlightbackend.config;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Counts the SQL Hibernate prepares on the current thread while a request is being
+ * tracked. Identical SQL text repeated many times in one request is the signature
+ * of an N+1 load, since parameters are bound separately.
+ */
+public class StatementCounter implements StatementInspector {
+
+    private static final ThreadLocal<Tally> CURRENT = new ThreadLocal<>();
+
+    @Override
+    public String inspect(String sql) {
+        Tally tally = CURRENT.get();
+        if (tally != null) tally.add(sql);
+        return sql;
+    }
+
+    static void begin() {
+        CURRENT.set(new Tally());
+    }
+
+    static Tally end() {
+        Tally tally = CURRENT.get();
+        CURRENT.remove();
+        return tally;
+    }
+
+    static final class Tally {
+        private int total;
+        private Map<String, Integer> bySql;
+        private int maxRepeats;
+        private String mostRepeated;
+
+        private void add(String sql) {
+            total++;
+            if (bySql == null) bySql = new HashMap<>();
+            int n = bySql.merge(sql, 1, Integer::sum);
+            if (n > maxRepeats) {
+                maxRepeats = n;
+                mostRepeated = sql;
+            }
+        }
+
+        int total() { return total; }
+        int maxRepeats() { return maxRepeats; }
+        String mostRepeated() { return mostRepeated; }
+    }
+}
@@ -0,0 +1,77 @@
+package com.moonlight.moonlightbackend.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Records how many SQL statements each API request issued, tagged by route, and
+ * flags routes where one statement repeats past the threshold (likely N+1).
+ */
+public class StatementMetricsFilter extends OncePerRequestFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(StatementMetricsFilter.class);
+
+    private final MeterRegistry registry;
+    private final int repeatThreshold;
+    // Warn once per route; the counter keeps the ongoing rate
+    private final Set<String> warnedRoutes = ConcurrentHashMap.newKeySet();
+
+    public StatementMetricsFilter(MeterRegistry registry, int repeatThreshold) {
+        this.registry = registry;
+        this.repeatThreshold = repeatThreshold;
+    }
+
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return true;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        StatementCounter.begin();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            StatementCounter.Tally tally = StatementCounter.end();
+            if (tally != null) record(request, tally);
+        }
+    }
+
+    private void record(HttpServletRequest request, StatementCounter.Tally tally) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+        String method = request.getMethod();
+
+        DistributionSummary.builder("http.server.requests.statements")
+                .description("SQL statements prepared per request")
+                .tags("uri", uri, "method", method)
+                .register(registry)
+                .record(tally.total());
+
+        if (tally.maxRepeats() >= repeatThreshold) {
+            Counter.builder("http.server.requests.repeated.statements")
+                    .description("Requests where one SQL statement repeated past the N+1 threshold")
+                    .tags("uri", uri, "method", method)
+                    .register(registry)
+                    .increment();
+            if (warnedRoutes.add(method + " " + uri)) {
+                log.warn("Possible N+1 on {} {}: statement ran {} times in one request: {}",
+                        method, uri, tally.maxRepeats(), tally.mostRepeated());
+            }
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.moonlight.moonlightbackend.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Logs which request execution mode is active so load comparisons can be
+ * matched to the configuration that produced them.
+ */
+@Component
+public class ThreadingModeReporter {
+
+    private static final Logger log = LoggerFactory.getLogger(ThreadingModeReporter.class);
+
+    private final boolean virtualRequested;
+    private final int poolSize;
+
+    public ThreadingModeReporter(@Value("${spring.threads.virtual.enabled:false}") boolean virtualRequested,
+                                 @Value("${spring.datasource.hikari.maximum-pool-size:10}") int poolSize) {
+        this.virtualRequested = virtualRequested;
+        this.poolSize = poolSize;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void report() {
+        int javaVersion = Runtime.version().feature();
+        if (virtualRequested && javaVersion < 21) {
+            log.warn("Virtual threads requested but running on Java {}; falling back to platform threads", javaVersion);
+            return;
+        }
+        log.info("Request threads: {} (Java {}), JDBC pool max {}",
+                virtualRequested ? "virtual" : "platform", javaVersion, poolSize);
+    }
+}
@@ -1,13 +1,20 @@
 package com.moonlight.moonlightbackend.controller;
 
+import com.moonlight.moonlightbackend.config.AdminAuthFilter;
 import com.moonlight.moonlightbackend.dto.AdminLoginRequest;
 import com.moonlight.moonlightbackend.dto.AdminLoginResponse;
 import com.moonlight.moonlightbackend.model.Admin;
 import com.moonlight.moonlightbackend.service.AdminService;
+import com.moonlight.moonlightbackend.service.LoginThrottledException;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.RejectedExecutionException;
 
 @RestController
 @RequestMapping("/api/admin/auth")
@@ -21,8 +28,9 @@ public class AdminAuthController {
     }
 
     @PostMapping("/login")
-    public ResponseEntity<?> login(@RequestBody AdminLoginRequest request) {
-        Optional<Admin> admin = adminService.authenticate(request.getUsername(), request.getPassword());
+    public ResponseEntity<?> login(@RequestBody AdminLoginRequest request, HttpServletRequest httpRequest) {
+        Optional<Admin> admin = adminService.authenticate(request.getUsername(), request.getPassword(),
+                httpRequest.getRemoteAddr());
         
         if (admin.isPresent()) {
             String token = adminService.generateToken(admin.get());
@@ -37,4 +45,25 @@ public class AdminAuthController {
         
         return ResponseEntity.status(401).body("Invalid credentials");
     }
+
+    @PostMapping("/logout")
+    public ResponseEntity<Void> logout(HttpServletRequest request) {
+        String token = AdminAuthFilter.extractToken(request);
+        if (token != null) adminService.revokeToken(token);
+        return ResponseEntity.noContent().build();
+    }
+
+    @ExceptionHandler(LoginThrottledException.class)
+    public ResponseEntity<Map<String, String>> handleThrottled(LoginThrottledException e) {
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, Long.toString(e.getRetryAfterSeconds()))
+                .body(Map.of("message", e.getMessage()));
+    }
+
+    @ExceptionHandler(RejectedExecutionException.class)
+    public ResponseEntity<Map<String, String>> handleBusy(RejectedExecutionException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(Map.of("message", "Login is busy, please retry"));
+    }
 }
@@ -0,0 +1,42 @@
+package com.moonlight.moonlightbackend.controller;
+
+import com.moonlight.moonlightbackend.dto.KitchenBatchView;
+import com.moonlight.moonlightbackend.dto.KitchenStationSummary;
+import com.moonlight.moonlightbackend.service.KitchenQueueService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/admin/kitchen/stations")
+@CrossOrigin(origins = "http://localhost:8080")
+public class AdminKitchenController {
+
+    private final KitchenQueueService kitchenQueueService;
+
+    public AdminKitchenController(KitchenQueueService kitchenQueueService) {
+        this.kitchenQueueService = kitchenQueueService;
+    }
+
+    @GetMapping
+    public ResponseEntity<List<KitchenStationSummary>> stations() {
+        return ResponseEntity.ok(kitchenQueueService.summaries());
+    }
+
+    @GetMapping("/{station}")
+    public ResponseEntity<List<KitchenBatchView>> queue(@PathVariable String station) {
+        return ResponseEntity.ok(kitchenQueueService.queue(station));
+    }
+
+    @PostMapping("/{station}/batches/{batchId}/complete")
+    public ResponseEntity<KitchenBatchView> complete(@PathVariable String station, @PathVariable String batchId) {
+        return ResponseEntity.ok(kitchenQueueService.complete(station, batchId));
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<Map<String, String>> handleNotFound(IllegalArgumentException e) {
+        return ResponseEntity.status(404).body(Map.of("message", e.getMessage()));
+    }
+}
@@ -1,32 +1,39 @@
 package com.moonlight.moonlightbackend.controller;
 
 import com.moonlight.moonlightbackend.dto.MenuItemRequest;
+import com.moonlight.moonlightbackend.dto.MenuItemView;
 import com.moonlight.moonlightbackend.model.MenuItem;
+import com.moonlight.moonlightbackend.service.MenuCache;
 import com.moonlight.moonlightbackend.service.MenuItemService;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
-
 @RestController
 @RequestMapping("/api/admin/menu")
 @CrossOrigin(origins = "http://localhost:8080")
 public class AdminMenuController {
 
     private final MenuItemService menuItemService;
+    private final MenuCache menuCache;
 
-    public AdminMenuController(MenuItemService menuItemService) {
+    public AdminMenuController(MenuItemService menuItemService, MenuCache menuCache) {
         this.menuItemService = menuItemService;
+        this.menuCache = menuCache;
     }
 
     @GetMapping
-    public ResponseEntity<List<MenuItem>> getAllMenuItems() {
-        return ResponseEntity.ok(menuItemService.getAllMenuItems());
+    public ResponseEntity<byte[]> getAllMenuItems(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        return MenuResponses.of(menuCache.current().getAllPayload(), ifNoneMatch, acceptEncoding);
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<MenuItem> getMenuItemById(@PathVariable Long id) {
-        return ResponseEntity.ok(menuItemService.getMenuItemById(id));
+    public ResponseEntity<MenuItemView> getMenuItemById(@PathVariable Long id) {
+        MenuItemView item = menuCache.current().find(id);
+        if (item == null) throw new IllegalArgumentException("Menu item not found: " + id);
+        return ResponseEntity.ok(item);
     }
 
     @PostMapping
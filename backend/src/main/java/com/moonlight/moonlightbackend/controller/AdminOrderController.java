@@ -1,48 +1,91 @@
 package com.moonlight.moonlightbackend.controller;
 
-import com.moonlight.moonlightbackend.model.Order;
-import com.moonlight.moonlightbackend.repository.OrderRepository;
+import com.moonlight.moonlightbackend.dto.OrderPage;
+import com.moonlight.moonlightbackend.dto.OrderStatusResponse;
+import com.moonlight.moonlightbackend.dto.OrderStatusUpdateRequest;
+import com.moonlight.moonlightbackend.dto.OrderView;
+import com.moonlight.moonlightbackend.service.OrderExportService;
+import com.moonlight.moonlightbackend.service.OrderFeedService;
+import com.moonlight.moonlightbackend.service.OrderService;
+import org.springframework.dao.OptimisticLockingFailureException;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
-import java.util.List;
+import java.io.IOException;
+import java.time.Instant;
 import java.util.Map;
 
 @RestController
 @RequestMapping("/api/admin/orders")
-@CrossOrigin(origins = "http://localhost:8080")
+@CrossOrigin(origins = "http://localhost:8080", exposedHeaders = "X-Read-After")
 public class AdminOrderController {
 
-    private final OrderRepository orderRepository;
+    private final OrderService orderService;
+    private final OrderFeedService orderFeedService;
+    private final OrderExportService orderExportService;
 
-    public AdminOrderController(OrderRepository orderRepository) {
-        this.orderRepository = orderRepository;
+    public AdminOrderController(OrderService orderService, OrderFeedService orderFeedService,
+                                OrderExportService orderExportService) {
+        this.orderService = orderService;
+        this.orderFeedService = orderFeedService;
+        this.orderExportService = orderExportService;
     }
 
     @GetMapping
-    public ResponseEntity<List<Order>> getAllOrders() {
-        List<Order> orders = orderRepository.findAll();
-        return ResponseEntity.ok(orders);
+    public ResponseEntity<OrderPage> getOrders(
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) Integer tableNumber,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant to,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int limit) {
+        return ResponseEntity.ok(orderService.listOrders(status, tableNumber, from, to, cursor, limit));
+    }
+
+    @GetMapping(path = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream(@RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        return orderFeedService.subscribe(lastEventId);
+    }
+
+    // Written synchronously on the request thread: an async body would be cut off by the async request timeout
+    @GetMapping("/export")
+    public void export(@RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant from,
+                       @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant to,
+                       @RequestParam(required = false) String format,
+                       HttpServletResponse response) throws IOException {
+        OrderExportService.Format fmt = OrderExportService.Format.parse(format);
+        orderExportService.checkRange(from, to);
+        response.setContentType(fmt.getContentType());
+        response.setCharacterEncoding("UTF-8");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                "attachment; filename=\"orders-" + from + "-" + to + "." + fmt.getExtension() + "\"");
+        orderExportService.export(from, to, fmt, response.getOutputStream());
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<Order> getOrderById(@PathVariable Long id) {
-        Order order = orderRepository.findById(id)
-                .orElseThrow(() -> new IllegalArgumentException("Order not found: " + id));
-        return ResponseEntity.ok(order);
+    public ResponseEntity<OrderView> getOrderById(@PathVariable Long id) {
+        return ResponseEntity.ok(orderService.getOrder(id));
     }
 
     @PatchMapping("/{id}/status")
-    public ResponseEntity<Order> updateOrderStatus(@PathVariable Long id, @RequestBody Map<String, String> body) {
-        Order order = orderRepository.findById(id)
-                .orElseThrow(() -> new IllegalArgumentException("Order not found: " + id));
-        
-        String newStatus = body.get("status");
-        if (newStatus != null) {
-            order.setStatus(newStatus);
-            orderRepository.save(order);
-        }
-        
-        return ResponseEntity.ok(order);
+    public ResponseEntity<OrderStatusResponse> updateOrderStatus(@PathVariable Long id,
+                                                                 @RequestBody OrderStatusUpdateRequest body) {
+        return ResponseEntity.ok(orderService.updateOrderStatus(id, body.getStatus(), body.getVersion()));
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<Map<String, String>> handleBadRequest(IllegalArgumentException e) {
+        return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
+    }
+
+    @ExceptionHandler({IllegalStateException.class, OptimisticLockingFailureException.class})
+    public ResponseEntity<Map<String, String>> handleConflict(RuntimeException e) {
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of("message", e.getMessage()));
     }
 }
@@ -0,0 +1,75 @@
+package com.moonlight.moonlightbackend.controller;
+
+import com.moonlight.moonlightbackend.dto.SalesBucket;
+import com.moonlight.moonlightbackend.dto.SalesReportRow;
+import com.moonlight.moonlightbackend.service.SalesRollupService;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/admin/reports")
+@CrossOrigin(origins = "http://localhost:8080")
+@ConditionalOnProperty(name = "app.reports.enabled", havingValue = "true", matchIfMissing = true)
+public class AdminReportController {
+
+    private final SalesRollupService salesRollupService;
+
+    public AdminReportController(SalesRollupService salesRollupService) {
+        this.salesRollupService = salesRollupService;
+    }
+
+    @GetMapping("/top-items")
+    public ResponseEntity<List<SalesReportRow>> topItems(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant to,
+            @RequestParam(required = false) String metric,
+            @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(salesRollupService.topItems(from, to, metric, limit));
+    }
+
+    @GetMapping("/categories")
+    public ResponseEntity<List<SalesReportRow>> categoryMix(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant to) {
+        return ResponseEntity.ok(salesRollupService.categoryMix(from, to));
+    }
+
+    @GetMapping("/series")
+    public ResponseEntity<List<SalesBucket>> series(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant to,
+            @RequestParam(defaultValue = "hour") String bucket,
+            @RequestParam(required = false) String dimension,
+            @RequestParam(required = false) String key) {
+        return ResponseEntity.ok(salesRollupService.series(from, to, bucket, dimension, key));
+    }
+
+    @GetMapping("/status")
+    public ResponseEntity<Map<String, Object>> status() {
+        return ResponseEntity.ok(salesRollupService.status());
+    }
+
+    @PostMapping("/rebuild")
+    public ResponseEntity<Map<String, String>> rebuild(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant from) {
+        salesRollupService.startRebuild(from);
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(Map.of("message", "Rebuild started"));
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<Map<String, String>> handleBadRequest(IllegalArgumentException e) {
+        return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
+    }
+
+    @ExceptionHandler(IllegalStateException.class)
+    public ResponseEntity<Map<String, String>> handleConflict(IllegalStateException e) {
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of("message", e.getMessage()));
+    }
+}
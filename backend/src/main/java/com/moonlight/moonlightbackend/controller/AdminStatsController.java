@@ -0,0 +1,23 @@
+package com.moonlight.moonlightbackend.controller;
+
+import com.moonlight.moonlightbackend.dto.AdminStatsResponse;
+import com.moonlight.moonlightbackend.service.OrderStatsService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/admin/stats")
+@CrossOrigin(origins = "http://localhost:8080")
+public class AdminStatsController {
+
+    private final OrderStatsService orderStatsService;
+
+    public AdminStatsController(OrderStatsService orderStatsService) {
+        this.orderStatsService = orderStatsService;
+    }
+
+    @GetMapping
+    public ResponseEntity<AdminStatsResponse> getStats(@RequestParam(defaultValue = "30") int days) {
+        return ResponseEntity.ok(orderStatsService.snapshot(days));
+    }
+}
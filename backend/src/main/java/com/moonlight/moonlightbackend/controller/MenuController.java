@@ -1,27 +1,38 @@
 package com.moonlight.moonlightbackend.controller;
 
-import com.moonlight.moonlightbackend.model.MenuItem;
-import com.moonlight.moonlightbackend.repository.MenuItemRepository;
+import com.moonlight.moonlightbackend.dto.MenuItemView;
+import com.moonlight.moonlightbackend.service.MenuCache;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/menu")
 @CrossOrigin(origins = "http://localhost:8080")
 public class MenuController {
 
-    private final MenuItemRepository menuItemRepository;
+    private final MenuCache menuCache;
 
-    public MenuController(MenuItemRepository menuItemRepository) {
-        this.menuItemRepository = menuItemRepository;
+    public MenuController(MenuCache menuCache) {
+        this.menuCache = menuCache;
     }
 
     @GetMapping
-    public List<MenuItem> list() {
-        return menuItemRepository.findByActiveTrueOrderByCategoryAscNameAsc();
+    public ResponseEntity<byte[]> list(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        return MenuResponses.of(menuCache.current().getActivePayload(), ifNoneMatch, acceptEncoding);
+    }
+
+    @GetMapping("/categories")
+    public Map<String, List<MenuItemView>> byCategory() {
+        return menuCache.current().getByCategory();
     }
 }
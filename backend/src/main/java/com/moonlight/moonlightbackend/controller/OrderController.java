@@ -1,31 +1,72 @@
 package com.moonlight.moonlightbackend.controller;
 
+import com.moonlight.moonlightbackend.dto.BatchOrderRequest;
+import com.moonlight.moonlightbackend.dto.BatchOrderResponse;
 import com.moonlight.moonlightbackend.dto.CreateOrderRequest;
-import com.moonlight.moonlightbackend.model.Order;
+import com.moonlight.moonlightbackend.dto.OrderView;
+import com.moonlight.moonlightbackend.service.IdempotencyKeyInProgressException;
+import com.moonlight.moonlightbackend.service.IdempotencyKeyMismatchException;
+import com.moonlight.moonlightbackend.service.OrderBatchService;
+import com.moonlight.moonlightbackend.service.OrderIdempotencyService;
 import com.moonlight.moonlightbackend.service.OrderService;
 import jakarta.validation.Valid;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.Map;
+
 @RestController
 @RequestMapping("/api/orders")
-@CrossOrigin(origins = "http://localhost:8080")
+@CrossOrigin(origins = "http://localhost:8080", exposedHeaders = "X-Read-After")
 public class OrderController {
 
     private final OrderService orderService;
+    private final OrderIdempotencyService orderIdempotencyService;
+    private final OrderBatchService orderBatchService;
 
-    public OrderController(OrderService orderService) {
+    public OrderController(OrderService orderService, OrderIdempotencyService orderIdempotencyService,
+                           OrderBatchService orderBatchService) {
         this.orderService = orderService;
+        this.orderIdempotencyService = orderIdempotencyService;
+        this.orderBatchService = orderBatchService;
     }
 
     @PostMapping
-    public ResponseEntity<Order> create(@Valid @RequestBody CreateOrderRequest request) {
-        Order saved = orderService.createOrder(request);
+    public ResponseEntity<OrderView> create(@Valid @RequestBody CreateOrderRequest request,
+                                        @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey) {
+        OrderView saved = idempotencyKey == null
+                ? OrderView.from(orderService.createOrder(request))
+                : orderIdempotencyService.createOrder(idempotencyKey, request);
         return ResponseEntity.ok(saved);
     }
 
+    @PostMapping("/batch")
+    public ResponseEntity<BatchOrderResponse> createBatch(@Valid @RequestBody BatchOrderRequest request,
+                                                          @RequestHeader("Idempotency-Key") String idempotencyKey) {
+        return ResponseEntity.ok(orderBatchService.createOrders(idempotencyKey, request.getOrders()));
+    }
+
     @GetMapping("/{id}")
-    public ResponseEntity<Order> get(@PathVariable Long id) {
+    public ResponseEntity<OrderView> get(@PathVariable Long id) {
         return ResponseEntity.ok(orderService.getOrder(id));
     }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<Map<String, String>> handleBadRequest(IllegalArgumentException e) {
+        return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
+    }
+
+    @ExceptionHandler(IdempotencyKeyMismatchException.class)
+    public ResponseEntity<Map<String, String>> handleKeyMismatch(IdempotencyKeyMismatchException e) {
+        return ResponseEntity.unprocessableEntity().body(Map.of("message", e.getMessage()));
+    }
+
+    @ExceptionHandler(IdempotencyKeyInProgressException.class)
+    public ResponseEntity<Map<String, String>> handleKeyInProgress(IdempotencyKeyInProgressException e) {
+        return ResponseEntity.status(HttpStatus.CONFLICT)
+                .header(HttpHeaders.RETRY_AFTER, Long.toString(e.getRetryAfterSeconds()))
+                .body(Map.of("message", e.getMessage()));
+    }
 }
@@ -0,0 +1,56 @@
+package com.moonlight.moonlightbackend.controller;
+
+import com.moonlight.moonlightbackend.dto.CreateReservationRequest;
+import com.moonlight.moonlightbackend.dto.ReservationView;
+import com.moonlight.moonlightbackend.dto.TableAvailability;
+import com.moonlight.moonlightbackend.service.ReservationService;
+import jakarta.validation.Valid;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/reservations")
+@CrossOrigin(origins = "http://localhost:8080")
+public class ReservationController {
+
+    private final ReservationService reservationService;
+
+    public ReservationController(ReservationService reservationService) {
+        this.reservationService = reservationService;
+    }
+
+    @GetMapping("/availability")
+    public ResponseEntity<List<TableAvailability>> availability(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.TIME) LocalTime time,
+            @RequestParam(defaultValue = "2") int guests) {
+        return ResponseEntity.ok(reservationService.findFreeTables(date, time, guests));
+    }
+
+    @PostMapping
+    public ResponseEntity<ReservationView> create(@Valid @RequestBody CreateReservationRequest request) {
+        return ResponseEntity.status(HttpStatus.CREATED).body(reservationService.create(request));
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<ReservationView> get(@PathVariable Long id) {
+        return ResponseEntity.ok(reservationService.get(id));
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<Map<String, String>> handleBadRequest(IllegalArgumentException e) {
+        return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
+    }
+
+    @ExceptionHandler(IllegalStateException.class)
+    public ResponseEntity<Map<String, String>> handleConflict(IllegalStateException e) {
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of("message", e.getMessage()));
+    }
+}
@@ -0,0 +1,42 @@
+package com.moonlight.moonlightbackend.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Map;
+
+public class AdminStatsResponse {
+    private long totalOrders;
+    private BigDecimal totalRevenue;
+    private int activeMenuItems;
+    private long pendingOrders;
+    private Map<String, Long> ordersByStatus;
+    private Map<LocalDate, BigDecimal> revenueByDay;
+
+    public AdminStatsResponse(long totalOrders, BigDecimal totalRevenue, int activeMenuItems, long pendingOrders,
+                              Map<String, Long> ordersByStatus, Map<LocalDate, BigDecimal> revenueByDay) {
+        this.totalOrders = totalOrders;
+        this.totalRevenue = totalRevenue;
+        this.activeMenuItems = activeMenuItems;
+        this.pendingOrders = pendingOrders;
+        this.ordersByStatus = ordersByStatus;
+        this.revenueByDay = revenueByDay;
+    }
+
+    public long getTotalOrders() { return totalOrders; }
+    public void setTotalOrders(long totalOrders) { this.totalOrders = totalOrders; }
+
+    public BigDecimal getTotalRevenue() { return totalRevenue; }
+    public void setTotalRevenue(BigDecimal totalRevenue) { this.totalRevenue = totalRevenue; }
+
+    public int getActiveMenuItems() { return activeMenuItems; }
+    public void setActiveMenuItems(int activeMenuItems) { this.activeMenuItems = activeMenuItems; }
+
+    public long getPendingOrders() { return pendingOrders; }
+    public void setPendingOrders(long pendingOrders) { this.pendingOrders = pendingOrders; }
+
+    public Map<String, Long> getOrdersByStatus() { return ordersByStatus; }
+    public void setOrdersByStatus(Map<String, Long> ordersByStatus) { this.ordersByStatus = ordersByStatus; }
+
+    public Map<LocalDate, BigDecimal> getRevenueByDay() { return revenueByDay; }
+    public void setRevenueByDay(Map<LocalDate, BigDecimal> revenueByDay) { this.revenueByDay = revenueByDay; }
+}
@@ -0,0 +1,13 @@
+package com.moonlight.moonlightbackend.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import java.util.List;
+
+public class BatchOrderRequest {
+    // Entries are validated individually so one bad order does not reject the whole batch
+    @NotEmpty
+    private List<CreateOrderRequest> orders;
+
+    public List<CreateOrderRequest> getOrders() { return orders; }
+    public void setOrders(List<CreateOrderRequest> orders) { this.orders = orders; }
+}
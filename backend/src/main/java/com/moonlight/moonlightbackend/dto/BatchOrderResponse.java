@@ -0,0 +1,29 @@
+package com.moonlight.moonlightbackend.dto;
+
+import java.util.List;
+
+public class BatchOrderResponse {
+    private long menuVersion;
+    private int created;
+    private int failed;
+    private List<BatchOrderResult> results;
+
+    public BatchOrderResponse(long menuVersion, List<BatchOrderResult> results) {
+        this.menuVersion = menuVersion;
+        this.results = results;
+        this.created = (int) results.stream().filter(BatchOrderResult::isCreated).count();
+        this.failed = results.size() - created;
+    }
+
+    public long getMenuVersion() { return menuVersion; }
+    public void setMenuVersion(long menuVersion) { this.menuVersion = menuVersion; }
+
+    public int getCreated() { return created; }
+    public void setCreated(int created) { this.created = created; }
+
+    public int getFailed() { return failed; }
+    public void setFailed(int failed) { this.failed = failed; }
+
+    public List<BatchOrderResult> getResults() { return results; }
+    public void setResults(List<BatchOrderResult> results) { this.results = results; }
+}
@@ -0,0 +1,42 @@
+package com.moonlight.moonlightbackend.dto;
+
+import java.math.BigDecimal;
+
+public class BatchOrderResult {
+    private int index;
+    private boolean created;
+    private Long orderId;
+    private BigDecimal totalAmount;
+    private String error;
+
+    public static BatchOrderResult created(int index, Long orderId, BigDecimal totalAmount) {
+        BatchOrderResult r = new BatchOrderResult();
+        r.index = index;
+        r.created = true;
+        r.orderId = orderId;
+        r.totalAmount = totalAmount;
+        return r;
+    }
+
+    public static BatchOrderResult failed(int index, String error) {
+        BatchOrderResult r = new BatchOrderResult();
+        r.index = index;
+        r.error = error;
+        return r;
+    }
+
+    public int getIndex() { return index; }
+    public void setIndex(int index) { this.index = index; }
+
+    public boolean isCreated() { return created; }
+    public void setCreated(boolean created) { this.created = created; }
+
+    public Long getOrderId() { return orderId; }
+    public void setOrderId(Long orderId) { this.orderId = orderId; }
+
+    public BigDecimal getTotalAmount() { return totalAmount; }
+    public void setTotalAmount(BigDecimal totalAmount) { this.totalAmount = totalAmount; }
+
+    public String getError() { return error; }
+    public void setError(String error) { this.error = error; }
+}
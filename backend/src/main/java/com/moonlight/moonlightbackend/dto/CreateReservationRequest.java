@@ -0,0 +1,62 @@
+package com.moonlight.moonlightbackend.dto;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+public class CreateReservationRequest {
+    @NotNull
+    @Min(1)
+    private Integer tableNumber;
+
+    @NotNull
+    private LocalDate date;
+
+    @NotNull
+    private LocalTime time;
+
+    @NotNull
+    @Min(1)
+    @Max(50)
+    private Integer guests;
+
+    @Size(max = 120)
+    private String name;
+
+    @Size(max = 255)
+    private String email;
+
+    @Size(max = 32)
+    private String phone;
+
+    @Size(max = 1000)
+    private String specialRequests;
+
+    public Integer getTableNumber() { return tableNumber; }
+    public void setTableNumber(Integer tableNumber) { this.tableNumber = tableNumber; }
+
+    public LocalDate getDate() { return date; }
+    public void setDate(LocalDate date) { this.date = date; }
+
+    public LocalTime getTime() { return time; }
+    public void setTime(LocalTime time) { this.time = time; }
+
+    public Integer getGuests() { return guests; }
+    public void setGuests(Integer guests) { this.guests = guests; }
+
+    public String getName() { return name; }
+    public void setName(String name) { this.name = name; }
+
+    public String getEmail() { return email; }
+    public void setEmail(String email) { this.email = email; }
+
+    public String getPhone() { return phone; }
+    public void setPhone(String phone) { this.phone = phone; }
+
+    public String getSpecialRequests() { return specialRequests; }
+    public void setSpecialRequests(String specialRequests) { this.specialRequests = specialRequests; }
+}
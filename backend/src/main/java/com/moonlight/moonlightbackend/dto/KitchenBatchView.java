@@ -0,0 +1,44 @@
+package com.moonlight.moonlightbackend.dto;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * One consolidated ticket: every order's portions of the same dish that arrived
+ * within the coalescing window, e.g. "6x Butter Chicken" across four tables. The id is
+ * {@code <menuItemId>-<window start epoch second>}, the same on every node.
+ */
+public class KitchenBatchView {
+    private final String batchId;
+    private final String station;
+    private final Long menuItemId;
+    private final String name;
+    private final int quantity;
+    private final Instant openedAt;
+    private final Instant sealsAt;
+    private final boolean sealed;
+    private final List<KitchenTicketLine> lines;
+
+    public KitchenBatchView(String batchId, String station, Long menuItemId, String name, int quantity,
+                            Instant openedAt, Instant sealsAt, boolean sealed, List<KitchenTicketLine> lines) {
+        this.batchId = batchId;
+        this.station = station;
+        this.menuItemId = menuItemId;
+        this.name = name;
+        this.quantity = quantity;
+        this.openedAt = openedAt;
+        this.sealsAt = sealsAt;
+        this.sealed = sealed;
+        this.lines = lines;
+    }
+
+    public String getBatchId() { return batchId; }
+    public String getStation() { return station; }
+    public Long getMenuItemId() { return menuItemId; }
+    public String getName() { return name; }
+    public int getQuantity() { return quantity; }
+    public Instant getOpenedAt() { return openedAt; }
+    public Instant getSealsAt() { return sealsAt; }
+    public boolean isSealed() { return sealed; }
+    public List<KitchenTicketLine> getLines() { return lines; }
+}
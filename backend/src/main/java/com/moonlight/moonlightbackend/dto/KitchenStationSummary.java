@@ -0,0 +1,17 @@
+package com.moonlight.moonlightbackend.dto;
+
+public class KitchenStationSummary {
+    private final String station;
+    private final int batches;
+    private final int portions;
+
+    public KitchenStationSummary(String station, int batches, int portions) {
+        this.station = station;
+        this.batches = batches;
+        this.portions = portions;
+    }
+
+    public String getStation() { return station; }
+    public int getBatches() { return batches; }
+    public int getPortions() { return portions; }
+}
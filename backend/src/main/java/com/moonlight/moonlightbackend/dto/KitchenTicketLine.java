@@ -0,0 +1,17 @@
+package com.moonlight.moonlightbackend.dto;
+
+public class KitchenTicketLine {
+    private final Long orderId;
+    private final Integer tableNumber;
+    private final int quantity;
+
+    public KitchenTicketLine(Long orderId, Integer tableNumber, int quantity) {
+        this.orderId = orderId;
+        this.tableNumber = tableNumber;
+        this.quantity = quantity;
+    }
+
+    public Long getOrderId() { return orderId; }
+    public Integer getTableNumber() { return tableNumber; }
+    public int getQuantity() { return quantity; }
+}
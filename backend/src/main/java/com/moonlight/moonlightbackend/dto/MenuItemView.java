@@ -0,0 +1,43 @@
+package com.moonlight.moonlightbackend.dto;
+
+import com.moonlight.moonlightbackend.model.MenuItem;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+/**
+ * Read-only menu row, loaded by constructor projection rather than as a managed entity.
+ */
+public class MenuItemView {
+    private final Long id;
+    private final String name;
+    private final String description;
+    private final BigDecimal price;
+    private final String category;
+    private final Boolean active;
+    private final Instant createdAt;
+
+    public MenuItemView(Long id, String name, String description, BigDecimal price, String category,
+                        Boolean active, Instant createdAt) {
+        this.id = id;
+        this.name = name;
+        this.description = description;
+        this.price = price;
+        this.category = category;
+        this.active = active;
+        this.createdAt = createdAt;
+    }
+
+    public static MenuItemView from(MenuItem mi) {
+        return new MenuItemView(mi.getId(), mi.getName(), mi.getDescription(), mi.getPrice(), mi.getCategory(),
+                mi.getActive(), mi.getCreatedAt());
+    }
+
+    public Long getId() { return id; }
+    public String getName() { return name; }
+    public String getDescription() { return description; }
+    public BigDecimal getPrice() { return price; }
+    public String getCategory() { return category; }
+    public Boolean getActive() { return active; }
+    public Instant getCreatedAt() { return createdAt; }
+}
@@ -0,0 +1,36 @@
+package com.moonlight.moonlightbackend.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.moonlight.moonlightbackend.model.OrderItem;
+
+import java.math.BigDecimal;
+
+public class OrderItemView {
+    private final Long orderId;
+    private final Long id;
+    private final Long menuItemId;
+    private final String name;
+    private final BigDecimal unitPrice;
+    private final Integer quantity;
+
+    public OrderItemView(Long orderId, Long id, Long menuItemId, String name, BigDecimal unitPrice, Integer quantity) {
+        this.orderId = orderId;
+        this.id = id;
+        this.menuItemId = menuItemId;
+        this.name = name;
+        this.unitPrice = unitPrice;
+        this.quantity = quantity;
+    }
+
+    public static OrderItemView from(Long orderId, OrderItem oi) {
+        return new OrderItemView(orderId, oi.getId(), oi.getMenuItemId(), oi.getName(), oi.getUnitPrice(), oi.getQuantity());
+    }
+
+    @JsonIgnore
+    public Long getOrderId() { return orderId; }
+    public Long getId() { return id; }
+    public Long getMenuItemId() { return menuItemId; }
+    public String getName() { return name; }
+    public BigDecimal getUnitPrice() { return unitPrice; }
+    public Integer getQuantity() { return quantity; }
+}
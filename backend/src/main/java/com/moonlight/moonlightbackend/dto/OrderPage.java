@@ -0,0 +1,19 @@
+package com.moonlight.moonlightbackend.dto;
+
+import java.util.List;
+
+public class OrderPage {
+    private List<OrderView> items;
+    private String nextCursor;
+
+    public OrderPage(List<OrderView> items, String nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<OrderView> getItems() { return items; }
+    public void setItems(List<OrderView> items) { this.items = items; }
+
+    public String getNextCursor() { return nextCursor; }
+    public void setNextCursor(String nextCursor) { this.nextCursor = nextCursor; }
+}
@@ -0,0 +1,34 @@
+package com.moonlight.moonlightbackend.dto;
+
+import com.moonlight.moonlightbackend.model.OrderStatus;
+
+public class OrderStatusResponse {
+    private Long id;
+    private Integer tableNumber;
+    private OrderStatus status;
+    private OrderStatus previousStatus;
+    private long version;
+
+    public OrderStatusResponse(Long id, Integer tableNumber, OrderStatus status, OrderStatus previousStatus, long version) {
+        this.id = id;
+        this.tableNumber = tableNumber;
+        this.status = status;
+        this.previousStatus = previousStatus;
+        this.version = version;
+    }
+
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public Integer getTableNumber() { return tableNumber; }
+    public void setTableNumber(Integer tableNumber) { this.tableNumber = tableNumber; }
+
+    public OrderStatus getStatus() { return status; }
+    public void setStatus(OrderStatus status) { this.status = status; }
+
+    public OrderStatus getPreviousStatus() { return previousStatus; }
+    public void setPreviousStatus(OrderStatus previousStatus) { this.previousStatus = previousStatus; }
+
+    public long getVersion() { return version; }
+    public void setVersion(long version) { this.version = version; }
+}
@@ -0,0 +1,13 @@
+package com.moonlight.moonlightbackend.dto;
+
+public class OrderStatusUpdateRequest {
+    private String status;
+    // Optional: the version the client last saw, for optimistic concurrency across screens
+    private Long version;
+
+    public String getStatus() { return status; }
+    public void setStatus(String status) { this.status = status; }
+
+    public Long getVersion() { return version; }
+    public void setVersion(Long version) { this.version = version; }
+}
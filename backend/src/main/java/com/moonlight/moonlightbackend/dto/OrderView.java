@@ -0,0 +1,54 @@
+package com.moonlight.moonlightbackend.dto;
+
+import com.moonlight.moonlightbackend.model.Order;
+import com.moonlight.moonlightbackend.model.OrderStatus;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Read-only order with its lines, used for list and detail responses.
+ */
+public class OrderView {
+    private final Long id;
+    private final Integer tableNumber;
+    private final String email;
+    private final String phone;
+    private final BigDecimal totalAmount;
+    private final OrderStatus status;
+    private final Long version;
+    private final Instant createdAt;
+    private final List<OrderItemView> items = new ArrayList<>();
+
+    public OrderView(Long id, Integer tableNumber, String email, String phone, BigDecimal totalAmount,
+                     OrderStatus status, Long version, Instant createdAt) {
+        this.id = id;
+        this.tableNumber = tableNumber;
+        this.email = email;
+        this.phone = phone;
+        this.totalAmount = totalAmount;
+        this.status = status;
+        this.version = version;
+        this.createdAt = createdAt;
+    }
+
+    /** Copies an order whose items are already in memory, e.g. one that was just created. */
+    public static OrderView from(Order order) {
+        OrderView view = new OrderView(order.getId(), order.getTableNumber(), order.getEmail(), order.getPhone(),
+                order.getTotalAmount(), order.getStatus(), order.getVersion(), order.getCreatedAt());
+        order.getItems().forEach(oi -> view.items.add(OrderItemView.from(order.getId(), oi)));
+        return view;
+    }
+
+    public Long getId() { return id; }
+    public Integer getTableNumber() { return tableNumber; }
+    public String getEmail() { return email; }
+    public String getPhone() { return phone; }
+    public BigDecimal getTotalAmount() { return totalAmount; }
+    public OrderStatus getStatus() { return status; }
+    public Long getVersion() { return version; }
+    public Instant getCreatedAt() { return createdAt; }
+    public List<OrderItemView> getItems() { return items; }
+}
@@ -0,0 +1,50 @@
+package com.moonlight.moonlightbackend.dto;
+
+import com.moonlight.moonlightbackend.model.Reservation;
+import com.moonlight.moonlightbackend.model.ReservationStatus;
+
+import java.time.Instant;
+
+public class ReservationView {
+    private final Long id;
+    private final Integer tableNumber;
+    private final Integer guests;
+    private final Instant startsAt;
+    private final Instant endsAt;
+    private final String name;
+    private final String email;
+    private final String phone;
+    private final String specialRequests;
+    private final ReservationStatus status;
+
+    public ReservationView(Long id, Integer tableNumber, Integer guests, Instant startsAt, Instant endsAt,
+                           String name, String email, String phone, String specialRequests,
+                           ReservationStatus status) {
+        this.id = id;
+        this.tableNumber = tableNumber;
+        this.guests = guests;
+        this.startsAt = startsAt;
+        this.endsAt = endsAt;
+        this.name = name;
+        this.email = email;
+        this.phone = phone;
+        this.specialRequests = specialRequests;
+        this.status = status;
+    }
+
+    public static ReservationView from(Reservation r) {
+        return new ReservationView(r.getId(), r.getTableNumber(), r.getGuests(), r.getStartsAt(), r.getEndsAt(),
+                r.getCustomerName(), r.getEmail(), r.getPhone(), r.getSpecialRequests(), r.getStatus());
+    }
+
+    public Long getId() { return id; }
+    public Integer getTableNumber() { return tableNumber; }
+    public Integer getGuests() { return guests; }
+    public Instant getStartsAt() { return startsAt; }
+    public Instant getEndsAt() { return endsAt; }
+    public String getName() { return name; }
+    public String getEmail() { return email; }
+    public String getPhone() { return phone; }
+    public String getSpecialRequests() { return specialRequests; }
+    public ReservationStatus getStatus() { return status; }
+}
@@ -0,0 +1,30 @@
+package com.moonlight.moonlightbackend.dto;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+public class SalesBucket {
+    private Instant bucketStart;
+    private long quantity;
+    private BigDecimal revenue;
+    private long orders;
+
+    public SalesBucket(Instant bucketStart, long quantity, BigDecimal revenue, long orders) {
+        this.bucketStart = bucketStart;
+        this.quantity = quantity;
+        this.revenue = revenue;
+        this.orders = orders;
+    }
+
+    public Instant getBucketStart() { return bucketStart; }
+    public void setBucketStart(Instant bucketStart) { this.bucketStart = bucketStart; }
+
+    public long getQuantity() { return quantity; }
+    public void setQuantity(long quantity) { this.quantity = quantity; }
+
+    public BigDecimal getRevenue() { return revenue; }
+    public void setRevenue(BigDecimal revenue) { this.revenue = revenue; }
+
+    public long getOrders() { return orders; }
+    public void setOrders(long orders) { this.orders = orders; }
+}
@@ -0,0 +1,38 @@
+package com.moonlight.moonlightbackend.dto;
+
+import java.math.BigDecimal;
+
+public class SalesReportRow {
+    private String key;
+    private String label;
+    private long quantity;
+    private BigDecimal revenue;
+    private long orders;
+    private BigDecimal revenueShare;
+
+    public SalesReportRow(String key, String label, long quantity, BigDecimal revenue, long orders) {
+        this.key = key;
+        this.label = label;
+        this.quantity = quantity;
+        this.revenue = revenue;
+        this.orders = orders;
+    }
+
+    public String getKey() { return key; }
+    public void setKey(String key) { this.key = key; }
+
+    public String getLabel() { return label; }
+    public void setLabel(String label) { this.label = label; }
+
+    public long getQuantity() { return quantity; }
+    public void setQuantity(long quantity) { this.quantity = quantity; }
+
+    public BigDecimal getRevenue() { return revenue; }
+    public void setRevenue(BigDecimal revenue) { this.revenue = revenue; }
+
+    public long getOrders() { return orders; }
+    public void setOrders(long orders) { this.orders = orders; }
+
+    public BigDecimal getRevenueShare() { return revenueShare; }
+    public void setRevenueShare(BigDecimal revenueShare) { this.revenueShare = revenueShare; }
+}
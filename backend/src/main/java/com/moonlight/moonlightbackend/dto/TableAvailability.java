@@ -0,0 +1,14 @@
+package com.moonlight.moonlightbackend.dto;
+
+public class TableAvailability {
+    private final int tableNumber;
+    private final int capacity;
+
+    public TableAvailability(int tableNumber, int capacity) {
+        this.tableNumber = tableNumber;
+        this.capacity = capacity;
+    }
+
+    public int getTableNumber() { return tableNumber; }
+    public int getCapacity() { return capacity; }
+}
@@ -0,0 +1,14 @@
+package com.moonlight.moonlightbackend.event;
+
+public class KitchenLineCompletedEvent {
+    private final Long orderId;
+    private final Long menuItemId;
+
+    public KitchenLineCompletedEvent(Long orderId, Long menuItemId) {
+        this.orderId = orderId;
+        this.menuItemId = menuItemId;
+    }
+
+    public Long getOrderId() { return orderId; }
+    public Long getMenuItemId() { return menuItemId; }
+}
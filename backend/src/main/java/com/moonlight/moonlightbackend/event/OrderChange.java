@@ -0,0 +1,59 @@
+package com.moonlight.moonlightbackend.event;
+
+import com.moonlight.moonlightbackend.dto.OrderView;
+import com.moonlight.moonlightbackend.model.OrderStatus;
+
+/**
+ * A committed order change as delivered to every node by the order change channel,
+ * whichever node made it. For {@link Type#CREATED} the order carries the status and
+ * version it was created with, even if it has moved on since. {@link Type#LINE_COMPLETED}
+ * means a cook finished the order's lines for one menu item.
+ */
+public class OrderChange {
+
+    public enum Type { CREATED, STATUS_CHANGED, LINE_COMPLETED }
+
+    private final Type type;
+    private final Long orderId;
+    private final OrderView order;
+    private final Integer tableNumber;
+    private final OrderStatus previousStatus;
+    private final OrderStatus status;
+    private final Long version;
+    private final Long menuItemId;
+
+    private OrderChange(Type type, Long orderId, OrderView order, Integer tableNumber,
+                        OrderStatus previousStatus, OrderStatus status, Long version, Long menuItemId) {
+        this.type = type;
+        this.orderId = orderId;
+        this.order = order;
+        this.tableNumber = tableNumber;
+        this.previousStatus = previousStatus;
+        this.status = status;
+        this.version = version;
+        this.menuItemId = menuItemId;
+    }
+
+    public static OrderChange created(OrderView order) {
+        return new OrderChange(Type.CREATED, order.getId(), order, order.getTableNumber(),
+                null, order.getStatus(), order.getVersion(), null);
+    }
+
+    public static OrderChange statusChanged(Long orderId, Integer tableNumber, OrderStatus previousStatus,
+                                            OrderStatus status, Long version) {
+        return new OrderChange(Type.STATUS_CHANGED, orderId, null, tableNumber, previousStatus, status, version, null);
+    }
+
+    public static OrderChange lineCompleted(Long orderId, Long menuItemId) {
+        return new OrderChange(Type.LINE_COMPLETED, orderId, null, null, null, null, null, menuItemId);
+    }
+
+    public Type getType() { return type; }
+    public Long getOrderId() { return orderId; }
+    public OrderView getOrder() { return order; }
+    public Integer getTableNumber() { return tableNumber; }
+    public OrderStatus getPreviousStatus() { return previousStatus; }
+    public OrderStatus getStatus() { return status; }
+    public Long getVersion() { return version; }
+    public Long getMenuItemId() { return menuItemId; }
+}
@@ -0,0 +1,17 @@
+package com.moonlight.moonlightbackend.event;
+
+import com.moonlight.moonlightbackend.model.Order;
+
+/**
+ * Published inside the creating transaction; listeners should use
+ * {@code @TransactionalEventListener} to observe it only once committed.
+ */
+public class OrderCreatedEvent {
+    private final Order order;
+
+    public OrderCreatedEvent(Order order) {
+        this.order = order;
+    }
+
+    public Order getOrder() { return order; }
+}
@@ -0,0 +1,26 @@
+package com.moonlight.moonlightbackend.event;
+
+import com.moonlight.moonlightbackend.model.OrderStatus;
+
+public class OrderStatusChangedEvent {
+    private final Long orderId;
+    private final Integer tableNumber;
+    private final OrderStatus previousStatus;
+    private final OrderStatus status;
+    private final long version;
+
+    public OrderStatusChangedEvent(Long orderId, Integer tableNumber, OrderStatus previousStatus,
+                                   OrderStatus status, long version) {
+        this.orderId = orderId;
+        this.tableNumber = tableNumber;
+        this.previousStatus = previousStatus;
+        this.status = status;
+        this.version = version;
+    }
+
+    public Long getOrderId() { return orderId; }
+    public Integer getTableNumber() { return tableNumber; }
+    public OrderStatus getPreviousStatus() { return previousStatus; }
+    public OrderStatus getStatus() { return status; }
+    public long getVersion() { return version; }
+}
@@ -0,0 +1,54 @@
+package com.moonlight.moonlightbackend.model;
+
+import jakarta.persistence.*;
+import java.io.Serializable;
+import java.time.Instant;
+import java.util.Objects;
+
+@Entity
+@Table(name = "kitchen_completed_lines",
+        indexes = @Index(name = "idx_kitchen_completed_lines_completed", columnList = "completed_at"))
+@IdClass(KitchenCompletedLine.Key.class)
+public class KitchenCompletedLine {
+
+    @Id
+    @Column(name = "order_id")
+    private Long orderId;
+
+    @Id
+    @Column(name = "menu_item_id")
+    private Long menuItemId;
+
+    @Column(name = "completed_at", nullable = false)
+    private Instant completedAt;
+
+    public Long getOrderId() { return orderId; }
+    public void setOrderId(Long orderId) { this.orderId = orderId; }
+    public Long getMenuItemId() { return menuItemId; }
+    public void setMenuItemId(Long menuItemId) { this.menuItemId = menuItemId; }
+    public Instant getCompletedAt() { return completedAt; }
+    public void setCompletedAt(Instant completedAt) { this.completedAt = completedAt; }
+
+    public static class Key implements Serializable {
+        private Long orderId;
+        private Long menuItemId;
+
+        public Key() {
+        }
+
+        public Key(Long orderId, Long menuItemId) {
+            this.orderId = orderId;
+            this.menuItemId = menuItemId;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Key k && Objects.equals(orderId, k.orderId) && Objects.equals(menuItemId, k.menuItemId);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(orderId, menuItemId);
+        }
+    }
+}
@@ -7,11 +7,16 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "orders")
+@Table(name = "orders", indexes = {
+        @Index(name = "idx_orders_created_id", columnList = "created_at DESC, id DESC"),
+        @Index(name = "idx_orders_status_created", columnList = "status, created_at DESC"),
+        @Index(name = "idx_orders_table_created", columnList = "table_number, created_at DESC")
+})
 public class Order {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "orders_seq")
+    @SequenceGenerator(name = "orders_seq", sequenceName = "orders_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "table_number", nullable = false)
@@ -26,8 +31,12 @@ public class Order {
     @Column(name = "total_amount", precision = 12, scale = 2, nullable = false)
     private BigDecimal totalAmount = BigDecimal.ZERO;
 
+    @Enumerated(EnumType.STRING)
     @Column(length = 64, nullable = false)
-    private String status = "CREATED";
+    private OrderStatus status = OrderStatus.PENDING;
+
+    @Version
+    private Long version;
 
     @Column(name = "created_at", nullable = false, updatable = false)
     private Instant createdAt;
@@ -38,7 +47,7 @@ public class Order {
     @PrePersist
     public void prePersist() {
         if (createdAt == null) createdAt = Instant.now();
-        if (status == null) status = "CREATED";
+        if (status == null) status = OrderStatus.PENDING;
         if (totalAmount == null) totalAmount = BigDecimal.ZERO;
     }
 
@@ -58,8 +67,10 @@ public class Order {
     public void setPhone(String phone) { this.phone = phone; }
     public BigDecimal getTotalAmount() { return totalAmount; }
     public void setTotalAmount(BigDecimal totalAmount) { this.totalAmount = totalAmount; }
-    public String getStatus() { return status; }
-    public void setStatus(String status) { this.status = status; }
+    public OrderStatus getStatus() { return status; }
+    public void setStatus(OrderStatus status) { this.status = status; }
+    public Long getVersion() { return version; }
+    public void setVersion(Long version) { this.version = version; }
     public Instant getCreatedAt() { return createdAt; }
     public void setCreatedAt(Instant createdAt) { this.createdAt = createdAt; }
     public List<OrderItem> getItems() { return items; }
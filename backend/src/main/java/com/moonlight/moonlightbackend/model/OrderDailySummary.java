@@ -0,0 +1,56 @@
+package com.moonlight.moonlightbackend.model;
+
+import jakarta.persistence.*;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+
+/**
+ * Totals for archived orders, one row per business day and final status. Rows are
+ * written only by the archival job; see OrderRepositoryImpl#archiveClosedBefore.
+ */
+@Entity
+@Table(name = "order_daily_summaries", uniqueConstraints =
+        @UniqueConstraint(name = "uk_order_daily_summaries_day_status", columnNames = {"business_date", "status"}))
+public class OrderDailySummary {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "order_daily_summaries_seq")
+    @SequenceGenerator(name = "order_daily_summaries_seq", sequenceName = "order_daily_summaries_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "business_date", nullable = false)
+    private LocalDate businessDate;
+
+    @Enumerated(EnumType.STRING)
+    @Column(length = 64, nullable = false)
+    private OrderStatus status;
+
+    @Column(name = "order_count", nullable = false)
+    private long orderCount;
+
+    @Column(name = "item_count", nullable = false)
+    private long itemCount;
+
+    @Column(name = "total_amount", precision = 14, scale = 2, nullable = false)
+    private BigDecimal totalAmount = BigDecimal.ZERO;
+
+    @Column(name = "updated_at", nullable = false)
+    private Instant updatedAt;
+
+    // Getters/Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+    public LocalDate getBusinessDate() { return businessDate; }
+    public void setBusinessDate(LocalDate businessDate) { this.businessDate = businessDate; }
+    public OrderStatus getStatus() { return status; }
+    public void setStatus(OrderStatus status) { this.status = status; }
+    public long getOrderCount() { return orderCount; }
+    public void setOrderCount(long orderCount) { this.orderCount = orderCount; }
+    public long getItemCount() { return itemCount; }
+    public void setItemCount(long itemCount) { this.itemCount = itemCount; }
+    public BigDecimal getTotalAmount() { return totalAmount; }
+    public void setTotalAmount(BigDecimal totalAmount) { this.totalAmount = totalAmount; }
+    public Instant getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(Instant updatedAt) { this.updatedAt = updatedAt; }
+}
@@ -2,14 +2,16 @@ package com.moonlight.moonlightbackend.model;
 
 import jakarta.persistence.*;
 import java.math.BigDecimal;
+import java.time.Instant;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 
 @Entity
-@Table(name = "order_items")
+@Table(name = "order_items", indexes = @Index(name = "idx_order_items_order", columnList = "order_id"))
 public class OrderItem {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "order_items_seq")
+    @SequenceGenerator(name = "order_items_seq", sequenceName = "order_items_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY, optional = false)
@@ -17,6 +19,11 @@ public class OrderItem {
     @JsonIgnore
     private Order order;
 
+    // Partition key of order_items; always the parent order's created_at
+    @Column(name = "order_created_at", nullable = false, updatable = false)
+    @JsonIgnore
+    private Instant orderCreatedAt;
+
     @Column(name = "menu_item_id")
     private Long menuItemId;
 
@@ -29,10 +36,17 @@ public class OrderItem {
     @Column(nullable = false)
     private Integer quantity;
 
+    @PrePersist
+    public void prePersist() {
+        if (orderCreatedAt == null && order != null) orderCreatedAt = order.getCreatedAt();
+    }
+
     public Long getId() { return id; }
     public void setId(Long id) { this.id = id; }
     public Order getOrder() { return order; }
     public void setOrder(Order order) { this.order = order; }
+    public Instant getOrderCreatedAt() { return orderCreatedAt; }
+    public void setOrderCreatedAt(Instant orderCreatedAt) { this.orderCreatedAt = orderCreatedAt; }
     public Long getMenuItemId() { return menuItemId; }
     public void setMenuItemId(Long menuItemId) { this.menuItemId = menuItemId; }
     public String getName() { return name; }
@@ -0,0 +1,43 @@
+package com.moonlight.moonlightbackend.model;
+
+import java.util.EnumSet;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Order lifecycle: PENDING -> PREPARING -> READY -> SERVED -> COMPLETED, with
+ * CANCELLED reachable until the order has been served.
+ */
+public enum OrderStatus {
+    PENDING,
+    PREPARING,
+    READY,
+    SERVED,
+    COMPLETED,
+    CANCELLED;
+
+    public Set<OrderStatus> next() {
+        return switch (this) {
+            case PENDING -> EnumSet.of(PREPARING, CANCELLED);
+            case PREPARING -> EnumSet.of(READY, CANCELLED);
+            case READY -> EnumSet.of(SERVED, CANCELLED);
+            case SERVED -> EnumSet.of(COMPLETED);
+            case COMPLETED, CANCELLED -> EnumSet.noneOf(OrderStatus.class);
+        };
+    }
+
+    public boolean canTransitionTo(OrderStatus target) {
+        return next().contains(target);
+    }
+
+    public static OrderStatus parse(String value) {
+        if (value == null || value.isBlank()) {
+            throw new IllegalArgumentException("Status is required");
+        }
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown order status: " + value);
+        }
+    }
+}
@@ -0,0 +1,8 @@
+package com.moonlight.moonlightbackend.model;
+
+public enum OutboxStatus {
+    PENDING,
+    DONE,
+    // Gave up after the configured number of attempts; kept for inspection and manual replay
+    DEAD
+}
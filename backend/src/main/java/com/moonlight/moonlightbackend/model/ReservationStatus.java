@@ -0,0 +1,6 @@
+package com.moonlight.moonlightbackend.model;
+
+public enum ReservationStatus {
+    BOOKED,
+    CANCELLED
+}
@@ -2,7 +2,11 @@ package com.moonlight.moonlightbackend.repository;
 
 import com.moonlight.moonlightbackend.model.Admin;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Optional;
 
@@ -11,4 +15,11 @@ public interface AdminRepository extends JpaRepository<Admin, Long> {
     Optional<Admin> findByUsername(String username);
     Optional<Admin> findByEmail(String email);
     boolean existsByUsername(String username);
+
+    // Conditional on the old value so a concurrent password change is never overwritten
+    @Transactional
+    @Modifying
+    @Query("update Admin a set a.password = :newPassword where a.id = :id and a.password = :oldPassword")
+    int updatePassword(@Param("id") Long id, @Param("oldPassword") String oldPassword,
+                       @Param("newPassword") String newPassword);
 }
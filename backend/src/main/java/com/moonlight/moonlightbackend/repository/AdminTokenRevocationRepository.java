@@ -0,0 +1,29 @@
+package com.moonlight.moonlightbackend.repository;
+
+import com.moonlight.moonlightbackend.model.AdminTokenRevocation;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+
+@Repository
+public interface AdminTokenRevocationRepository extends JpaRepository<AdminTokenRevocation, String> {
+
+    // Logging out twice, or from two nodes at once, must not fail
+    @Modifying
+    @Query(value = "insert into admin_token_revocations (token_id, expires_at, revoked_at) " +
+            "values (:tokenId, :expiresAt, :revokedAt) on conflict do nothing", nativeQuery = true)
+    void insert(@Param("tokenId") String tokenId, @Param("expiresAt") Instant expiresAt,
+                @Param("revokedAt") Instant revokedAt);
+
+    @Query("select r from AdminTokenRevocation r where r.revokedAt >= :since and r.expiresAt > :now")
+    List<AdminTokenRevocation> findRevokedSince(@Param("since") Instant since, @Param("now") Instant now);
+
+    @Modifying
+    @Query("delete from AdminTokenRevocation r where r.expiresAt <= :now")
+    int deleteExpired(@Param("now") Instant now);
+}
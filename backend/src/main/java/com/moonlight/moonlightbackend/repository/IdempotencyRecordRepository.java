@@ -0,0 +1,25 @@
+package com.moonlight.moonlightbackend.repository;
+
+import com.moonlight.moonlightbackend.model.IdempotencyRecord;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+
+@Repository
+public interface IdempotencyRecordRepository extends JpaRepository<IdempotencyRecord, String> {
+
+    // Plain insert so a key claimed concurrently by another node fails on the primary key
+    @Modifying
+    @Query(value = "insert into idempotency_keys (idempotency_key, order_id, created_at, request_hash) " +
+            "values (:key, :orderId, :createdAt, :requestHash)", nativeQuery = true)
+    void insert(@Param("key") String key, @Param("orderId") Long orderId, @Param("createdAt") Instant createdAt,
+                @Param("requestHash") String requestHash);
+
+    @Modifying
+    @Query("delete from IdempotencyRecord r where r.createdAt < :cutoff")
+    int deleteOlderThan(@Param("cutoff") Instant cutoff);
+}
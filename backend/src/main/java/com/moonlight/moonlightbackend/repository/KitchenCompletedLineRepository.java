@@ -0,0 +1,30 @@
+package com.moonlight.moonlightbackend.repository;
+
+import com.moonlight.moonlightbackend.model.KitchenCompletedLine;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface KitchenCompletedLineRepository extends JpaRepository<KitchenCompletedLine, KitchenCompletedLine.Key> {
+
+    // Two nodes may complete the same line; the second insert is a no-op
+    @Modifying
+    @Query(value = "insert into kitchen_completed_lines (order_id, menu_item_id, completed_at) " +
+            "values (:orderId, :menuItemId, :completedAt) on conflict do nothing", nativeQuery = true)
+    void insert(@Param("orderId") Long orderId, @Param("menuItemId") Long menuItemId,
+                @Param("completedAt") Instant completedAt);
+
+    @Query("select l.orderId, l.menuItemId from KitchenCompletedLine l where l.orderId in :orderIds")
+    List<Object[]> findLinesByOrderIdIn(@Param("orderIds") Collection<Long> orderIds);
+
+    @Modifying
+    @Query("delete from KitchenCompletedLine l where l.completedAt < :cutoff")
+    int deleteOlderThan(@Param("cutoff") Instant cutoff);
+}
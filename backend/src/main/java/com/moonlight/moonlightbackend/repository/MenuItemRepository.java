@@ -1,7 +1,9 @@
 package com.moonlight.moonlightbackend.repository;
 
+import com.moonlight.moonlightbackend.dto.MenuItemView;
 import com.moonlight.moonlightbackend.model.MenuItem;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -9,4 +11,11 @@ import java.util.List;
 @Repository
 public interface MenuItemRepository extends JpaRepository<MenuItem, Long> {
     List<MenuItem> findByActiveTrueOrderByCategoryAscNameAsc();
+
+    @Query("select new com.moonlight.moonlightbackend.dto.MenuItemView(m.id, m.name, m.description, m.price, " +
+            "m.category, m.active, m.createdAt) from MenuItem m order by m.category, m.name")
+    List<MenuItemView> findAllViews();
+
+    @Query(value = "SELECT version FROM menu_version WHERE id = 1", nativeQuery = true)
+    Long findMenuVersion();
 }
@@ -0,0 +1,9 @@
+package com.moonlight.moonlightbackend.repository;
+
+import com.moonlight.moonlightbackend.model.OrderDailySummary;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface OrderDailySummaryRepository extends JpaRepository<OrderDailySummary, Long> {
+}
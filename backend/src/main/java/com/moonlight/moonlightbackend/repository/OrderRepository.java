@@ -1,9 +1,46 @@
 package com.moonlight.moonlightbackend.repository;
 
+import com.moonlight.moonlightbackend.dto.OrderItemView;
+import com.moonlight.moonlightbackend.dto.OrderView;
 import com.moonlight.moonlightbackend.model.Order;
+import com.moonlight.moonlightbackend.model.OrderStatus;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
 @Repository
-public interface OrderRepository extends JpaRepository<Order, Long> {
+public interface OrderRepository extends JpaRepository<Order, Long>, OrderRepositoryCustom {
+
+    @Query("select new com.moonlight.moonlightbackend.dto.OrderView(o.id, o.tableNumber, o.email, o.phone, " +
+            "o.totalAmount, o.status, o.version, o.createdAt) from Order o where o.id in :ids")
+    List<OrderView> findViewsByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("select new com.moonlight.moonlightbackend.dto.OrderItemView(oi.order.id, oi.id, oi.menuItemId, oi.name, " +
+            "oi.unitPrice, oi.quantity) from OrderItem oi where oi.order.id in :ids order by oi.id")
+    List<OrderItemView> findItemViewsByOrderIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("select o.id from Order o where o.status in :statuses and o.createdAt > :after order by o.createdAt, o.id")
+    List<Long> findIdsByStatusInCreatedAfter(@Param("statuses") Collection<OrderStatus> statuses,
+                                             @Param("after") Instant after);
+
+    @Query("select extract(date from o.createdAt), o.status, count(o), sum(o.totalAmount) from Order o " +
+            "group by extract(date from o.createdAt), o.status")
+    List<Object[]> aggregateByDayAndStatus();
+
+    @Query("select o.id as id, o.tableNumber as tableNumber, o.status as status, o.version as version " +
+            "from Order o where o.id = :id")
+    Optional<OrderStatusView> findStatusById(@Param("id") Long id);
+
+    @Modifying
+    @Query("update Order o set o.status = :next, o.version = o.version + 1 " +
+            "where o.id = :id and o.status = :current and o.version = :version")
+    int transitionStatus(@Param("id") Long id, @Param("current") OrderStatus current,
+                         @Param("next") OrderStatus next, @Param("version") Long version);
 }
@@ -0,0 +1,44 @@
+package com.moonlight.moonlightbackend.repository;
+
+import com.moonlight.moonlightbackend.model.OrderStatus;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+
+public interface OrderRepositoryCustom {
+
+    /**
+     * Ids of the orders matching the filters, newest first, strictly after the
+     * {@code (afterCreatedAt, afterId)} keyset position when one is given.
+     */
+    List<Long> findPageIds(OrderStatus status, Integer tableNumber, Instant from, Instant to,
+                           Instant afterCreatedAt, Long afterId, int limit);
+
+    /**
+     * Moves up to {@code limit} COMPLETED/CANCELLED orders created before {@code cutoff} into
+     * order_daily_summaries and deletes them with their items, in one statement.
+     * Returns the number of orders archived.
+     */
+    int archiveClosedBefore(Instant cutoff, int limit);
+
+    /** Creates any missing monthly partitions for the given months; returns how many were new. */
+    int ensurePartitions(LocalDate fromMonth, int months);
+
+    /** Names of the monthly order partitions that end on or before {@code month}, oldest first. */
+    List<String> findPartitionsBefore(LocalDate month);
+
+    /**
+     * Detaches and drops an order partition and its order_items partition if it holds no rows;
+     * false if it does. Must run in a transaction of its own, which it sets a lock timeout on.
+     *
+     * @throws org.springframework.dao.PessimisticLockingFailureException if a lock is not granted in time
+     */
+    boolean dropPartitionIfEmpty(String name, Duration lockTimeout);
+
+    /**
+     * Runs {@code work} while holding the cluster-wide partition maintenance lock on a connection
+     * of its own; false without running it if another node holds the lock.
+     */
+    boolean runExclusively(Runnable work);
+}
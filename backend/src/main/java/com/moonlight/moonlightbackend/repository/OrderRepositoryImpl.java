@@ -0,0 +1,180 @@
+package com.moonlight.moonlightbackend.repository;
+
+import com.moonlight.moonlightbackend.model.OrderStatus;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class OrderRepositoryImpl implements OrderRepositoryCustom {
+
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("yyyyMM");
+    private static final long MAINTENANCE_LOCK_KEY = 0x0a7c41eL;
+
+    // Business day is the order's date in the session time zone, as in aggregateByDayAndStatus
+    private static final String ARCHIVE_SQL = """
+            WITH picked AS (
+                SELECT o.id, o.created_at, o.status, o.total_amount,
+                       (SELECT COALESCE(SUM(oi.quantity), 0) FROM order_items oi
+                         WHERE oi.order_id = o.id AND oi.order_created_at = o.created_at) AS items
+                  FROM orders o
+                 WHERE o.status IN ('COMPLETED', 'CANCELLED') AND o.created_at < :cutoff
+                 ORDER BY o.created_at
+                 LIMIT :limit
+            ), moved AS (
+                DELETE FROM orders o USING picked p
+                 WHERE o.id = p.id AND o.created_at = p.created_at
+                RETURNING p.created_at, p.status, p.total_amount, p.items
+            ), summarized AS (
+                INSERT INTO order_daily_summaries AS s
+                       (id, business_date, status, order_count, item_count, total_amount, updated_at)
+                SELECT nextval('order_daily_summaries_seq'), d.business_date, d.status, d.orders, d.items, d.total, now()
+                  FROM (SELECT created_at::date AS business_date, status, count(*) AS orders,
+                               sum(items) AS items, sum(total_amount) AS total
+                          FROM moved GROUP BY 1, 2) d
+                ON CONFLICT (business_date, status) DO UPDATE
+                   SET order_count = s.order_count + excluded.order_count,
+                       item_count = s.item_count + excluded.item_count,
+                       total_amount = s.total_amount + excluded.total_amount,
+                       updated_at = excluded.updated_at
+                RETURNING 1
+            )
+            SELECT count(*) FROM moved
+            """;
+
+    private final DataSource dataSource;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public OrderRepositoryImpl(DataSource dataSource) {
+        this.dataSource = dataSource;
+    }
+
+    @Override
+    public List<Long> findPageIds(OrderStatus status, Integer tableNumber, Instant from, Instant to,
+                                  Instant afterCreatedAt, Long afterId, int limit) {
+        // Only the predicates actually in use are emitted so the planner can pick the matching index
+        List<String> where = new ArrayList<>();
+        Map<String, Object> params = new HashMap<>();
+        if (status != null) {
+            where.add("o.status = :status");
+            params.put("status", status);
+        }
+        if (tableNumber != null) {
+            where.add("o.tableNumber = :tableNumber");
+            params.put("tableNumber", tableNumber);
+        }
+        if (from != null) {
+            where.add("o.createdAt >= :from");
+            params.put("from", from);
+        }
+        if (to != null) {
+            where.add("o.createdAt < :to");
+            params.put("to", to);
+        }
+        if (afterCreatedAt != null && afterId != null) {
+            where.add("(o.createdAt < :afterCreatedAt or (o.createdAt = :afterCreatedAt and o.id < :afterId))");
+            params.put("afterCreatedAt", afterCreatedAt);
+            params.put("afterId", afterId);
+        }
+
+        StringBuilder jpql = new StringBuilder("select o.id from Order o");
+        if (!where.isEmpty()) {
+            jpql.append(" where ").append(String.join(" and ", where));
+        }
+        jpql.append(" order by o.createdAt desc, o.id desc");
+
+        TypedQuery<Long> query = entityManager.createQuery(jpql.toString(), Long.class);
+        params.forEach(query::setParameter);
+        return query.setMaxResults(limit).getResultList();
+    }
+
+    @Override
+    public int archiveClosedBefore(Instant cutoff, int limit) {
+        Number archived = (Number) entityManager.createNativeQuery(ARCHIVE_SQL)
+                .setParameter("cutoff", cutoff)
+                .setParameter("limit", limit)
+                .getSingleResult();
+        return archived.intValue();
+    }
+
+    @Override
+    public int ensurePartitions(LocalDate fromMonth, int months) {
+        Number created = (Number) entityManager.createNativeQuery("SELECT ensure_order_partitions(:from, :months)")
+                .setParameter("from", fromMonth)
+                .setParameter("months", months)
+                .getSingleResult();
+        return created.intValue();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<String> findPartitionsBefore(LocalDate month) {
+        List<String> names = entityManager.createNativeQuery(
+                        "SELECT c.relname FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid " +
+                        "WHERE i.inhparent = 'orders'::regclass AND c.relname ~ '^orders_p[0-9]{6}$' ORDER BY 1")
+                .getResultList();
+        String limit = "orders_p" + month.format(PARTITION_SUFFIX);
+        // Names sort by month; the partition named for `month` itself is still needed
+        return names.stream().filter(name -> name.compareTo(limit) < 0).toList();
+    }
+
+    @Override
+    public boolean dropPartitionIfEmpty(String name, Duration lockTimeout) {
+        // DETACH locks the whole parent; give up rather than queue every order query behind a long reader
+        entityManager.createNativeQuery("SELECT set_config('lock_timeout', :timeout, true)")
+                .setParameter("timeout", lockTimeout.toMillis() + "ms")
+                .getSingleResult();
+        // Holds off late inserts into the partition until it is gone
+        entityManager.createNativeQuery("LOCK TABLE " + name + " IN SHARE MODE").executeUpdate();
+        boolean empty = (Boolean) entityManager.createNativeQuery(
+                "SELECT NOT EXISTS (SELECT 1 FROM " + name + ")").getSingleResult();
+        if (!empty) return false;
+        String items = "order_items_" + name.substring("orders_".length());
+        // Detach first: a partition of a table referenced by a foreign key cannot be dropped directly
+        if (entityManager.createNativeQuery("SELECT to_regclass('" + items + "')").getSingleResult() != null) {
+            entityManager.createNativeQuery("ALTER TABLE order_items DETACH PARTITION " + items).executeUpdate();
+            entityManager.createNativeQuery("DROP TABLE " + items).executeUpdate();
+        }
+        entityManager.createNativeQuery("ALTER TABLE orders DETACH PARTITION " + name).executeUpdate();
+        entityManager.createNativeQuery("DROP TABLE " + name).executeUpdate();
+        return true;
+    }
+
+    @Override
+    public boolean runExclusively(Runnable work) {
+        try (Connection c = dataSource.getConnection()) {
+            if (!advisory(c, "SELECT pg_try_advisory_lock(?)")) return false;
+            try {
+                work.run();
+            } finally {
+                advisory(c, "SELECT pg_advisory_unlock(?)");
+            }
+            return true;
+        } catch (SQLException e) {
+            throw new IllegalStateException("Unable to take the order maintenance lock", e);
+        }
+    }
+
+    private static boolean advisory(Connection c, String sql) throws SQLException {
+        try (PreparedStatement ps = c.prepareStatement(sql)) {
+            ps.setLong(1, MAINTENANCE_LOCK_KEY);
+            try (var rs = ps.executeQuery()) {
+                return rs.next() && rs.getBoolean(1);
+            }
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package com.moonlight.moonlightbackend.repository;
+
+import com.moonlight.moonlightbackend.model.OrderStatus;
+
+public interface OrderStatusView {
+    Long getId();
+    Integer getTableNumber();
+    OrderStatus getStatus();
+    Long getVersion();
+}
@@ -0,0 +1,38 @@
+package com.moonlight.moonlightbackend.repository;
+
+import com.moonlight.moonlightbackend.model.OutboxEvent;
+import com.moonlight.moonlightbackend.model.OutboxStatus;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    // Lock timeout -2 is SKIP LOCKED: concurrent dispatchers (other nodes) take disjoint rows
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("select e from OutboxEvent e where e.status = :status and e.nextAttemptAt <= :now order by e.id")
+    List<OutboxEvent> findDueForUpdate(@Param("status") OutboxStatus status, @Param("now") Instant now,
+                                       Pageable page);
+
+    @Modifying
+    @Query("update OutboxEvent e set e.status = :status, e.processedAt = :at, e.attempts = e.attempts + 1 " +
+            "where e.id in :ids")
+    int markProcessed(@Param("ids") Collection<Long> ids, @Param("status") OutboxStatus status, @Param("at") Instant at);
+
+    @Modifying
+    @Query("delete from OutboxEvent e where e.status = :status and e.processedAt < :before")
+    int deleteProcessedBefore(@Param("status") OutboxStatus status, @Param("before") Instant before);
+}
@@ -0,0 +1,25 @@
+package com.moonlight.moonlightbackend.repository;
+
+import com.moonlight.moonlightbackend.model.Reservation;
+import com.moonlight.moonlightbackend.model.ReservationStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+
+@Repository
+public interface ReservationRepository extends JpaRepository<Reservation, Long> {
+    @Query("select distinct r.tableNumber from Reservation r " +
+            "where r.status = :status and r.startsAt < :end and r.endsAt > :start")
+    List<Integer> findTablesOverlapping(@Param("status") ReservationStatus status,
+                                        @Param("start") Instant start, @Param("end") Instant end);
+
+    boolean existsByTableNumberAndStatusAndStartsAtBeforeAndEndsAtAfter(Integer tableNumber, ReservationStatus status,
+                                                                       Instant end, Instant start);
+
+    List<Reservation> findByStartsAtGreaterThanEqualAndStartsAtLessThanOrderByStartsAtAscTableNumberAsc(
+            Instant from, Instant to);
+}
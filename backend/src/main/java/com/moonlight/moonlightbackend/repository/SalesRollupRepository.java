@@ -0,0 +1,227 @@
+package com.moonlight.moonlightbackend.repository;
+
+import com.moonlight.moonlightbackend.dto.SalesBucket;
+import com.moonlight.moonlightbackend.dto.SalesReportRow;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Native SQL over sales_rollups (see V7__sales_rollups.sql). The incremental roll-up and
+ * backfills serialize on one advisory lock. Cancellations never wait for it: they are queued
+ * in sales_rollup_cancellations, and a queued order is added like a sold one, so the roll-up
+ * can subtract every queued order it has added exactly once. Orders created after rescan_from
+ * count as added only when listed in sales_rollup_orders (V11__sales_rollup_overlap.sql).
+ */
+@Repository
+public class SalesRollupRepository {
+
+    private static final long LOCK_KEY = 0x5a1e5L;
+
+    // One pass produces every bucket/dimension row; revenue is the price captured on the order line
+    private static final String APPLY_SQL = """
+            WITH lines AS (
+                SELECT o.id AS order_id, o.created_at,
+                       date_trunc('hour', o.created_at) AS hour_start,
+                       date_trunc('day', o.created_at) AS day_start,
+                       oi.menu_item_id, oi.name,
+                       COALESCE(m.category, 'Uncategorized') AS category,
+                       oi.quantity, oi.unit_price * oi.quantity AS revenue
+                  FROM orders o
+                  JOIN order_items oi ON oi.order_id = o.id AND oi.order_created_at = o.created_at
+                  LEFT JOIN menu_items m ON m.id = oi.menu_item_id
+                 WHERE %s
+            )%s, agg AS (
+                SELECT CASE WHEN GROUPING(hour_start) = 0 THEN 'HOUR' ELSE 'DAY' END AS granularity,
+                       CASE WHEN GROUPING(menu_item_id) = 0 THEN 'ITEM'
+                            WHEN GROUPING(category) = 0 THEN 'CATEGORY' ELSE 'TOTAL' END AS dimension,
+                       COALESCE(hour_start, day_start) AS bucket_start,
+                       CASE WHEN GROUPING(menu_item_id) = 0 THEN COALESCE(menu_item_id::text, '')
+                            WHEN GROUPING(category) = 0 THEN category ELSE '' END AS dimension_key,
+                       CASE WHEN GROUPING(menu_item_id) = 0 THEN max(name)
+                            WHEN GROUPING(category) = 0 THEN category ELSE 'All items' END AS label,
+                       sum(quantity) AS quantity, sum(revenue) AS revenue, count(DISTINCT order_id) AS orders
+                  FROM lines
+                 GROUP BY GROUPING SETS ((hour_start, menu_item_id), (hour_start, category), (hour_start),
+                                         (day_start, menu_item_id), (day_start, category), (day_start))
+            )
+            INSERT INTO sales_rollups AS r
+                   (granularity, dimension, bucket_start, dimension_key, label, quantity, revenue, order_count, updated_at)
+            SELECT granularity, dimension, bucket_start, dimension_key, label,
+                   ? * quantity, ? * revenue, ? * orders, now()
+              FROM agg
+            ON CONFLICT (granularity, dimension, bucket_start, dimension_key) DO UPDATE
+               SET quantity = r.quantity + excluded.quantity,
+                   revenue = r.revenue + excluded.revenue,
+                   order_count = r.order_count + excluded.order_count,
+                   label = excluded.label,
+                   updated_at = excluded.updated_at
+            """;
+
+    // Orders created after the record threshold are listed, so a later re-scan of their range skips them
+    private static final String ADD_RANGE_SQL = APPLY_SQL.formatted("""
+            o.created_at > ? AND o.created_at <= ?
+                   AND NOT EXISTS (SELECT 1 FROM sales_rollup_orders ro WHERE ro.order_id = o.id)
+                   AND (o.status <> 'CANCELLED'
+                        OR EXISTS (SELECT 1 FROM sales_rollup_cancellations c WHERE c.order_id = o.id))""", """
+            , recorded AS (
+                INSERT INTO sales_rollup_orders (order_id, created_at)
+                SELECT DISTINCT order_id, created_at FROM lines WHERE created_at > ?
+            )""");
+
+    private static final String SUBTRACT_ORDERS_SQL = APPLY_SQL.formatted("""
+            o.id = ANY (?) AND o.created_at <= ?
+                   AND (o.created_at <= ? OR EXISTS (SELECT 1 FROM sales_rollup_orders ro WHERE ro.order_id = o.id))""",
+            "");
+
+    private static final String TOP_SQL = """
+            SELECT dimension_key, max(label), sum(quantity) AS quantity, sum(revenue) AS revenue,
+                   sum(order_count) AS orders
+              FROM sales_rollups
+             WHERE granularity = ? AND dimension = ? AND bucket_start >= ? AND bucket_start < ?
+             GROUP BY dimension_key
+            HAVING sum(quantity) > 0
+             ORDER BY %s DESC, dimension_key
+             LIMIT ?
+            """;
+
+    private static final String SERIES_SQL = """
+            SELECT bucket_start, quantity, revenue, order_count
+              FROM sales_rollups
+             WHERE granularity = ? AND dimension = ? AND dimension_key = ?
+               AND bucket_start >= ? AND bucket_start < ?
+             ORDER BY bucket_start
+            """;
+
+    private final DataSource dataSource;
+    private final JdbcTemplate jdbc;
+
+    public SalesRollupRepository(DataSource dataSource) {
+        this.dataSource = dataSource;
+        this.jdbc = new JdbcTemplate(dataSource);
+    }
+
+    /** Non-blocking exclusive lock for the current transaction. */
+    public boolean tryLock() {
+        return Boolean.TRUE.equals(jdbc.queryForObject("SELECT pg_try_advisory_xact_lock(?)", Boolean.class, LOCK_KEY));
+    }
+
+
+    /**
+     * Runs {@code work} while holding the exclusive lock on a connection of its own, so
+     * the work itself can spread over several transactions and threads.
+     */
+    public boolean runExclusively(Runnable work) {
+        try (Connection c = dataSource.getConnection()) {
+            if (!advisory(c, "SELECT pg_try_advisory_lock(?)")) return false;
+            try {
+                work.run();
+            } finally {
+                advisory(c, "SELECT pg_advisory_unlock(?)");
+            }
+            return true;
+        } catch (SQLException e) {
+            throw new IllegalStateException("Unable to take the sales rollup lock", e);
+        }
+    }
+
+    public Instant rolledUpTo() {
+        Timestamp ts = jdbc.queryForObject("SELECT rolled_up_to FROM sales_rollup_state WHERE id = 1", Timestamp.class);
+        return ts == null ? null : ts.toInstant();
+    }
+
+    public Instant rescanFrom() {
+        Timestamp ts = jdbc.queryForObject("SELECT rescan_from FROM sales_rollup_state WHERE id = 1", Timestamp.class);
+        return ts == null ? null : ts.toInstant();
+    }
+
+    /** Moves the watermark and forgets listed orders that the next re-scan no longer reaches. */
+    public void setRolledUpTo(Instant value, Instant rescanFrom) {
+        jdbc.update("UPDATE sales_rollup_state SET rolled_up_to = ?, rescan_from = ? WHERE id = 1",
+                Timestamp.from(value), Timestamp.from(rescanFrom));
+        jdbc.update("DELETE FROM sales_rollup_orders WHERE created_at <= ?", Timestamp.from(rescanFrom));
+    }
+
+    public void clearRolledUpTo() {
+        jdbc.update("UPDATE sales_rollup_state SET rolled_up_to = NULL, rescan_from = NULL WHERE id = 1");
+    }
+
+    /** Orders are stamped by whichever node took them, so the watermark follows the one clock they all reach. */
+    public Instant databaseNow() {
+        return jdbc.queryForObject("SELECT now()", Timestamp.class).toInstant();
+    }
+
+    public Instant oldestOrderCreatedAt() {
+        Timestamp ts = jdbc.queryForObject("SELECT min(created_at) FROM orders", Timestamp.class);
+        return ts == null ? null : ts.toInstant();
+    }
+
+    /**
+     * Adds the non-cancelled, not yet listed orders created in {@code (after, upTo]} and lists
+     * those created after {@code recordAfter}; returns the rows touched.
+     */
+    public int addRange(Instant after, Instant upTo, Instant recordAfter) {
+        return jdbc.update(ADD_RANGE_SQL, Timestamp.from(after), Timestamp.from(upTo), Timestamp.from(recordAfter),
+                1, 1, 1);
+    }
+
+    public void queueCancellation(long orderId) {
+        jdbc.update("INSERT INTO sales_rollup_cancellations (order_id, cancelled_at) VALUES (?, now()) "
+                + "ON CONFLICT (order_id) DO NOTHING", orderId);
+    }
+
+    /** Subtracts the queued cancellations that were rolled up and empties the queue; returns the orders dequeued. */
+    public int applyCancellations(Instant rolledUpTo, Instant rescanFrom) {
+        List<Long> ids = jdbc.queryForList("DELETE FROM sales_rollup_cancellations RETURNING order_id", Long.class);
+        if (ids.isEmpty()) return 0;
+        jdbc.update(SUBTRACT_ORDERS_SQL, ps -> {
+            ps.setArray(1, ps.getConnection().createArrayOf("bigint", ids.toArray()));
+            ps.setTimestamp(2, Timestamp.from(rolledUpTo));
+            ps.setTimestamp(3, Timestamp.from(rescanFrom));
+            ps.setInt(4, -1);
+            ps.setInt(5, -1);
+            ps.setInt(6, -1);
+        });
+        return ids.size();
+    }
+
+    public boolean hasBucketsBefore(Instant before) {
+        return Boolean.TRUE.equals(jdbc.queryForObject("SELECT EXISTS (SELECT 1 FROM sales_rollups "
+                + "WHERE granularity = 'DAY' AND dimension = 'TOTAL' AND bucket_start < ?)", Boolean.class,
+                Timestamp.from(before)));
+    }
+
+    public int deleteFrom(Instant from) {
+        jdbc.update("DELETE FROM sales_rollup_orders WHERE created_at >= ?", Timestamp.from(from));
+        return jdbc.update("DELETE FROM sales_rollups WHERE bucket_start >= ?", Timestamp.from(from));
+    }
+
+    public List<SalesReportRow> top(String granularity, String dimension, Instant from, Instant to,
+                                    String metric, int limit) {
+        return jdbc.query(TOP_SQL.formatted(metric), (rs, i) -> new SalesReportRow(
+                        rs.getString(1), rs.getString(2), rs.getLong(3), rs.getBigDecimal(4), rs.getLong(5)),
+                granularity, dimension, Timestamp.from(from), Timestamp.from(to), limit);
+    }
+
+    public List<SalesBucket> series(String granularity, String dimension, String key, Instant from, Instant to) {
+        return jdbc.query(SERIES_SQL, (rs, i) -> new SalesBucket(
+                        rs.getTimestamp(1).toInstant(), rs.getLong(2), rs.getBigDecimal(3), rs.getLong(4)),
+                granularity, dimension, key, Timestamp.from(from), Timestamp.from(to));
+    }
+
+    private static boolean advisory(Connection c, String sql) throws SQLException {
+        try (PreparedStatement ps = c.prepareStatement(sql)) {
+            ps.setLong(1, LOCK_KEY);
+            try (var rs = ps.executeQuery()) {
+                return rs.next() && rs.getBoolean(1);
+            }
+        }
+    }
+}
@@ -5,34 +5,66 @@ import com.moonlight.moonlightbackend.repository.AdminRepository;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.Base64;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
 import java.util.Optional;
 
 @Service
 public class AdminService {
 
     private final AdminRepository adminRepository;
+    private final AdminTokenService adminTokenService;
+    private final PasswordHasher passwordHasher;
+    private final LoginThrottle loginThrottle;
 
-    public AdminService(AdminRepository adminRepository) {
+    public AdminService(AdminRepository adminRepository, AdminTokenService adminTokenService,
+                        PasswordHasher passwordHasher, LoginThrottle loginThrottle) {
         this.adminRepository = adminRepository;
+        this.adminTokenService = adminTokenService;
+        this.passwordHasher = passwordHasher;
+        this.loginThrottle = loginThrottle;
     }
 
-    @Transactional(readOnly = true)
-    public Optional<Admin> authenticate(String username, String password) {
+    /**
+     * Not transactional on purpose: BCrypt runs on the hashing pool while no
+     * database connection is held. Legacy plaintext passwords are re-hashed on
+     * the first successful login.
+     *
+     * @throws LoginThrottledException if the username or IP is over its attempt limit
+     * @throws java.util.concurrent.RejectedExecutionException if the hashing pool is saturated
+     */
+    public Optional<Admin> authenticate(String username, String password, String clientIp) {
+        if (username == null || password == null) return Optional.empty();
+        loginThrottle.acquire(username, clientIp);
+
         Optional<Admin> admin = adminRepository.findByUsername(username);
-        if (admin.isPresent() && admin.get().getActive()) {
-            // Simple password check (in production, use BCrypt)
-            if (admin.get().getPassword().equals(password)) {
-                return admin;
-            }
+        String stored = admin.map(Admin::getPassword).orElse(null);
+
+        boolean valid;
+        if (stored != null && !PasswordHasher.isHashed(stored)) {
+            valid = MessageDigest.isEqual(stored.getBytes(StandardCharsets.UTF_8), password.getBytes(StandardCharsets.UTF_8));
+            if (valid) adminRepository.updatePassword(admin.get().getId(), stored, passwordHasher.hash(password));
+        } else {
+            valid = passwordHasher.matches(password, stored);
+        }
+
+        if (valid && admin.isPresent() && Boolean.TRUE.equals(admin.get().getActive())) {
+            loginThrottle.reset(username);
+            return admin;
         }
         return Optional.empty();
     }
 
     public String generateToken(Admin admin) {
-        // Simple token generation (in production, use JWT)
-        String tokenData = admin.getId() + ":" + admin.getUsername() + ":" + System.currentTimeMillis();
-        return Base64.getEncoder().encodeToString(tokenData.getBytes());
+        return adminTokenService.issue(admin);
+    }
+
+    public Optional<AdminTokenService.AdminPrincipal> verifyToken(String token) {
+        return adminTokenService.verify(token);
+    }
+
+    public void revokeToken(String token) {
+        adminTokenService.revoke(token);
     }
 
     @Transactional
@@ -43,7 +75,7 @@ public class AdminService {
         
         Admin admin = new Admin();
         admin.setUsername(username);
-        admin.setPassword(password); // In production, hash with BCrypt
+        admin.setPassword(passwordHasher.hash(password));
         admin.setFullName(fullName);
         admin.setEmail(email);
         admin.setRole("ADMIN");
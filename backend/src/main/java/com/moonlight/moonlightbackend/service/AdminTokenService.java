@@ -0,0 +1,194 @@
+package com.moonlight.moonlightbackend.service;
+
+import com.moonlight.moonlightbackend.config.ReplicaRouting;
+import com.moonlight.moonlightbackend.model.Admin;
+import com.moonlight.moonlightbackend.model.AdminTokenRevocation;
+import com.moonlight.moonlightbackend.repository.AdminTokenRevocationRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Issues and verifies stateless admin tokens of the form
+ * {@code base64url(id:role:expiresAtMillis:tokenId:username).base64url(hmacSha256)}.
+ * Verification never reads the admins table; recent results are cached and
+ * revoked token ids are remembered until the token would have expired anyway.
+ * Revocations are stored in admin_token_revocations and polled by every node, so a
+ * logout reaches the other nodes within {@code app.admin.revocation-sync-ms}.
+ */
+@Service
+public class AdminTokenService implements SmartInitializingSingleton {
+
+    private static final Logger log = LoggerFactory.getLogger(AdminTokenService.class);
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+    // revoked_at comes from the revoking node's clock and its commit can land after a poll has passed that instant
+    private static final Duration SYNC_OVERLAP = Duration.ofMinutes(1);
+
+    private final AdminTokenRevocationRepository revocationRepository;
+    private final TransactionTemplate readTx;
+    private final TransactionTemplate writeTx;
+
+    private final SecretKeySpec key;
+    private final Duration ttl;
+    private final int cacheSize;
+    private final ThreadLocal<Mac> macs;
+
+    private final Map<String, AdminPrincipal> verified = new ConcurrentHashMap<>();
+    private final Map<String, Long> revoked = new ConcurrentHashMap<>();
+    private volatile Instant syncedUpTo = Instant.EPOCH;
+
+    public AdminTokenService(AdminTokenRevocationRepository revocationRepository,
+                             PlatformTransactionManager txManager, Environment environment,
+                             @Value("${app.admin.token-secret:}") String secret,
+                             @Value("${app.admin.token-ttl-minutes:720}") long ttlMinutes,
+                             @Value("${app.admin.token-cache-size:1024}") int cacheSize) {
+        this.revocationRepository = revocationRepository;
+        this.readTx = new TransactionTemplate(txManager);
+        this.readTx.setReadOnly(true);
+        this.writeTx = new TransactionTemplate(txManager);
+        this.writeTx.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        byte[] secretBytes;
+        if (secret == null || secret.isBlank()) {
+            // A random key per node would reject every token issued by another node
+            if (!environment.matchesProfiles("dev")) {
+                throw new IllegalStateException("app.admin.token-secret (ADMIN_TOKEN_SECRET) must be set; "
+                        + "activate the dev profile to run a single node with a random key");
+            }
+            log.warn("app.admin.token-secret is not set; using a random key, tokens will not survive a restart");
+            secretBytes = new byte[32];
+            new SecureRandom().nextBytes(secretBytes);
+        } else {
+            secretBytes = secret.getBytes(StandardCharsets.UTF_8);
+        }
+        this.key = new SecretKeySpec(secretBytes, ALGORITHM);
+        this.ttl = Duration.ofMinutes(ttlMinutes);
+        this.cacheSize = cacheSize;
+        this.macs = ThreadLocal.withInitial(() -> {
+            try {
+                Mac mac = Mac.getInstance(ALGORITHM);
+                mac.init(key);
+                return mac;
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException("HMAC-SHA256 unavailable", e);
+            }
+        });
+    }
+
+    public String issue(Admin admin) {
+        long expiresAt = System.currentTimeMillis() + ttl.toMillis();
+        // Username goes last so it may itself contain ':'
+        String payload = admin.getId() + ":" + admin.getRole() + ":" + expiresAt + ":" + UUID.randomUUID()
+                + ":" + admin.getUsername();
+        byte[] payloadBytes = payload.getBytes(StandardCharsets.UTF_8);
+        return ENCODER.encodeToString(payloadBytes) + "." + ENCODER.encodeToString(sign(payloadBytes));
+    }
+
+    public Optional<AdminPrincipal> verify(String token) {
+        if (token == null || token.isEmpty()) return Optional.empty();
+        long now = System.currentTimeMillis();
+
+        AdminPrincipal principal = verified.get(token);
+        if (principal == null) {
+            principal = parse(token);
+            if (principal == null) return Optional.empty();
+            if (verified.size() >= cacheSize) evictOne();
+            verified.put(token, principal);
+        }
+        if (principal.expiresAt() <= now || revoked.containsKey(principal.tokenId())) {
+            verified.remove(token);
+            return Optional.empty();
+        }
+        return Optional.of(principal);
+    }
+
+    public void revoke(String token) {
+        verify(token).ifPresent(p -> {
+            writeTx.executeWithoutResult(status -> revocationRepository.insert(p.tokenId(),
+                    Instant.ofEpochMilli(p.expiresAt()), Instant.now()));
+            revoked.put(p.tokenId(), p.expiresAt());
+        });
+        verified.remove(token);
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        syncRevocations();
+    }
+
+    @Scheduled(fixedDelayString = "${app.admin.revocation-sync-ms:2000}")
+    public void syncRevocations() {
+        Instant started = Instant.now();
+        Instant since = syncedUpTo.equals(Instant.EPOCH) ? Instant.EPOCH : syncedUpTo.minus(SYNC_OVERLAP);
+        // A replica may not have replayed a logout made a moment ago on another node
+        List<AdminTokenRevocation> rows = ReplicaRouting.onPrimary(() -> readTx.execute(
+                status -> revocationRepository.findRevokedSince(since, started)));
+        for (AdminTokenRevocation row : rows) {
+            revoked.put(row.getTokenId(), row.getExpiresAt().toEpochMilli());
+        }
+        syncedUpTo = started;
+    }
+
+    @Scheduled(fixedDelayString = "${app.admin.token-cleanup-ms:600000}")
+    public void purgeExpired() {
+        long now = System.currentTimeMillis();
+        revoked.values().removeIf(expiresAt -> expiresAt <= now);
+        verified.values().removeIf(p -> p.expiresAt() <= now);
+        writeTx.executeWithoutResult(status -> revocationRepository.deleteExpired(Instant.ofEpochMilli(now)));
+    }
+
+    private AdminPrincipal parse(String token) {
+        int dot = token.indexOf('.');
+        if (dot <= 0 || dot == token.length() - 1) return null;
+        try {
+            byte[] payload = DECODER.decode(token.substring(0, dot));
+            byte[] signature = DECODER.decode(token.substring(dot + 1));
+            if (!MessageDigest.isEqual(sign(payload), signature)) return null;
+
+            String[] parts = new String(payload, StandardCharsets.UTF_8).split(":", 5);
+            if (parts.length != 5) return null;
+            return new AdminPrincipal(Long.parseLong(parts[0]), parts[4], parts[1], Long.parseLong(parts[2]), parts[3]);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private byte[] sign(byte[] payload) {
+        return macs.get().doFinal(payload);
+    }
+
+    private void evictOne() {
+        Iterator<String> it = verified.keySet().iterator();
+        if (it.hasNext()) {
+            it.next();
+            it.remove();
+        }
+    }
+
+    public record AdminPrincipal(Long adminId, String username, String role, long expiresAt, String tokenId) {
+    }
+}
@@ -0,0 +1,13 @@
+package com.moonlight.moonlightbackend.service;
+
+public class IdempotencyKeyInProgressException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public IdempotencyKeyInProgressException(long retryAfterSeconds) {
+        super("Order with this Idempotency-Key is still being processed");
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() { return retryAfterSeconds; }
+}
@@ -0,0 +1,8 @@
+package com.moonlight.moonlightbackend.service;
+
+public class IdempotencyKeyMismatchException extends RuntimeException {
+
+    public IdempotencyKeyMismatchException() {
+        super("Idempotency-Key was already used with a different request");
+    }
+}
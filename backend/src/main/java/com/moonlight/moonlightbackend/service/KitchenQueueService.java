@@ -0,0 +1,301 @@
+package com.moonlight.moonlightbackend.service;
+
+import com.moonlight.moonlightbackend.dto.KitchenBatchView;
+import com.moonlight.moonlightbackend.dto.KitchenStationSummary;
+import com.moonlight.moonlightbackend.dto.KitchenTicketLine;
+import com.moonlight.moonlightbackend.dto.MenuItemView;
+import com.moonlight.moonlightbackend.dto.OrderItemView;
+import com.moonlight.moonlightbackend.dto.OrderView;
+import com.moonlight.moonlightbackend.event.KitchenLineCompletedEvent;
+import com.moonlight.moonlightbackend.event.OrderChange;
+import com.moonlight.moonlightbackend.model.OrderStatus;
+import com.moonlight.moonlightbackend.repository.KitchenCompletedLineRepository;
+import com.moonlight.moonlightbackend.repository.OrderRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+
+/**
+ * Per-station kitchen queues held in memory. Each committed order line is routed to
+ * the station for its menu category; lines for the same dish created in the same
+ * coalescing window join one batch, so a cook sees "6x Butter Chicken" once instead
+ * of six tickets. Cancelled orders are pulled from open batches.
+ *
+ * Orders arrive through {@link OrderChangeChannel}, so every node holds the same queues.
+ * Windows are aligned to the clock and a batch id is the dish plus its window start, so
+ * ids agree across nodes and restarts. Completing a batch stores its lines in
+ * kitchen_completed_lines and announces them on the channel; a rebuild skips them.
+ */
+@Service
+public class KitchenQueueService implements OrderChangeListener {
+
+    private static final EnumSet<OrderStatus> IN_KITCHEN = EnumSet.of(OrderStatus.PENDING, OrderStatus.PREPARING);
+
+    private final OrderRepository orderRepository;
+    private final KitchenCompletedLineRepository completedLineRepository;
+    private final MenuCache menuCache;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate writeTx;
+    private final Map<String, String> stationByCategory = new HashMap<>();
+    private final String defaultStation;
+    private final Duration window;
+    private final Duration rebuildWindow;
+    // Sorted so the station list is stable for the UI
+    private final Map<String, Station> stations = new TreeMap<>();
+    // Orders already routed, with their creation time, so an order is never queued twice
+    private final Map<Long, Instant> routed = new ConcurrentHashMap<>();
+
+    public KitchenQueueService(OrderRepository orderRepository, KitchenCompletedLineRepository completedLineRepository,
+                               MenuCache menuCache, ApplicationEventPublisher eventPublisher,
+                               PlatformTransactionManager txManager,
+                               @Value("${app.kitchen.stations:Appetizers=starters,Main Courses=mains,Desserts=desserts,Beverages=bar}") String stations,
+                               @Value("${app.kitchen.default-station:mains}") String defaultStation,
+                               @Value("${app.kitchen.coalesce-seconds:90}") long coalesceSeconds,
+                               @Value("${app.kitchen.rebuild-hours:12}") long rebuildHours) {
+        this.orderRepository = orderRepository;
+        this.completedLineRepository = completedLineRepository;
+        this.menuCache = menuCache;
+        this.eventPublisher = eventPublisher;
+        this.writeTx = new TransactionTemplate(txManager);
+        this.writeTx.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        for (String entry : stations.split(",")) {
+            String[] kv = entry.split("=", 2);
+            if (kv.length != 2 || kv[0].isBlank() || kv[1].isBlank()) {
+                throw new IllegalArgumentException("Bad app.kitchen.stations entry: " + entry);
+            }
+            String station = kv[1].trim().toLowerCase(Locale.ROOT);
+            stationByCategory.put(kv[0].trim().toLowerCase(Locale.ROOT), station);
+            this.stations.computeIfAbsent(station, Station::new);
+        }
+        this.defaultStation = defaultStation.trim().toLowerCase(Locale.ROOT);
+        this.stations.computeIfAbsent(this.defaultStation, Station::new);
+        if (coalesceSeconds < 1) throw new IllegalArgumentException("app.kitchen.coalesce-seconds must be positive");
+        this.window = Duration.ofSeconds(coalesceSeconds);
+        this.rebuildWindow = Duration.ofHours(rebuildHours);
+    }
+
+    /** Reloads recent PENDING/PREPARING orders, minus the lines already completed. */
+    @Override
+    public void resync() {
+        stations.values().forEach(Station::clear);
+        routed.clear();
+        List<Long> ids = orderRepository.findIdsByStatusInCreatedAfter(IN_KITCHEN, Instant.now().minus(rebuildWindow));
+        if (ids.isEmpty()) return;
+        Map<Long, OrderView> orders = new HashMap<>();
+        for (OrderView v : orderRepository.findViewsByIdIn(ids)) orders.put(v.getId(), v);
+        for (OrderItemView item : orderRepository.findItemViewsByOrderIdIn(ids)) {
+            OrderView order = orders.get(item.getOrderId());
+            if (order != null) order.getItems().add(item);
+        }
+        Set<List<Long>> completed = new HashSet<>();
+        for (Object[] row : completedLineRepository.findLinesByOrderIdIn(ids)) {
+            completed.add(List.of((Long) row[0], (Long) row[1]));
+        }
+        for (Long id : ids) {
+            OrderView order = orders.get(id);
+            if (order != null) route(order, completed);
+        }
+    }
+
+    @Override
+    public void onChange(OrderChange change) {
+        switch (change.getType()) {
+            case CREATED -> route(change.getOrder(), Set.of());
+            case STATUS_CHANGED -> {
+                if (change.getStatus() == OrderStatus.CANCELLED) {
+                    for (Station station : stations.values()) station.removeOrder(change.getOrderId());
+                }
+            }
+            case LINE_COMPLETED -> {
+                for (Station station : stations.values()) station.removeLine(change.getOrderId(), change.getMenuItemId());
+            }
+        }
+    }
+
+    public List<KitchenStationSummary> summaries() {
+        List<KitchenStationSummary> out = new ArrayList<>(stations.size());
+        for (Station station : stations.values()) out.add(station.summary());
+        return out;
+    }
+
+    public List<KitchenBatchView> queue(String station) {
+        return station(station).views(Instant.now());
+    }
+
+    /**
+     * Marks a finished batch's lines done for every node. Lines another node added to the
+     * batch but this node has not seen yet stay queued.
+     */
+    public KitchenBatchView complete(String station, String batchId) {
+        Station s = station(station);
+        KitchenBatchView done = s.view(batchId, Instant.now());
+        if (done == null) throw new IllegalArgumentException("No batch " + batchId + " at station " + station);
+        Set<Long> orderIds = new LinkedHashSet<>();
+        for (KitchenTicketLine line : done.getLines()) orderIds.add(line.getOrderId());
+        Instant now = Instant.now();
+        writeTx.executeWithoutResult(status -> {
+            for (Long orderId : orderIds) {
+                completedLineRepository.insert(orderId, done.getMenuItemId(), now);
+                eventPublisher.publishEvent(new KitchenLineCompletedEvent(orderId, done.getMenuItemId()));
+            }
+        });
+        // Drop them here now rather than when the channel echoes the completion back
+        for (Long orderId : orderIds) s.removeLine(orderId, done.getMenuItemId());
+        return done;
+    }
+
+    /** Forgets completions and routed orders that have aged out of the rebuild window. */
+    @Scheduled(fixedDelayString = "${app.kitchen.prune-ms:3600000}", initialDelayString = "${app.kitchen.prune-ms:3600000}")
+    public void prune() {
+        Instant cutoff = Instant.now().minus(rebuildWindow);
+        writeTx.executeWithoutResult(status -> completedLineRepository.deleteOlderThan(cutoff));
+        routed.values().removeIf(createdAt -> createdAt.isBefore(cutoff));
+    }
+
+    private Station station(String name) {
+        Station station = name == null ? null : stations.get(name.toLowerCase(Locale.ROOT));
+        if (station == null) throw new IllegalArgumentException("Unknown station: " + name);
+        return station;
+    }
+
+    private void route(OrderView order, Set<List<Long>> completed) {
+        if (routed.putIfAbsent(order.getId(), order.getCreatedAt()) != null) return;
+        long windowSeconds = window.getSeconds();
+        Instant opensAt = Instant.ofEpochSecond(Math.floorDiv(order.getCreatedAt().getEpochSecond(), windowSeconds) * windowSeconds);
+        for (OrderItemView item : order.getItems()) {
+            if (completed.contains(List.of(order.getId(), item.getMenuItemId()))) continue;
+            MenuItemView mi = menuCache.current().find(item.getMenuItemId());
+            String category = mi == null || mi.getCategory() == null ? "" : mi.getCategory().toLowerCase(Locale.ROOT);
+            String station = stationByCategory.getOrDefault(category, defaultStation);
+            stations.get(station).add(order.getId(), order.getTableNumber(), item.getMenuItemId(), item.getName(),
+                    item.getQuantity(), opensAt, window);
+        }
+    }
+
+    private static final class Station {
+        final String name;
+        // Oldest window first, the order cooks should work in
+        private final TreeMap<BatchKey, Batch> batches = new TreeMap<>();
+
+        Station(String name) {
+            this.name = name;
+        }
+
+        synchronized void clear() {
+            batches.clear();
+        }
+
+        synchronized void add(Long orderId, Integer tableNumber, Long menuItemId, String dish, int quantity,
+                              Instant opensAt, Duration window) {
+            Batch batch = batches.computeIfAbsent(new BatchKey(opensAt, menuItemId),
+                    k -> new Batch(menuItemId, dish, opensAt, opensAt.plus(window)));
+            batch.lines.add(new KitchenTicketLine(orderId, tableNumber, quantity));
+            batch.lines.sort(Comparator.comparing(KitchenTicketLine::getOrderId));
+            batch.quantity += quantity;
+        }
+
+        synchronized void removeOrder(Long orderId) {
+            removeLines(b -> true, orderId);
+        }
+
+        synchronized void removeLine(Long orderId, Long menuItemId) {
+            removeLines(b -> b.menuItemId.equals(menuItemId), orderId);
+        }
+
+        private void removeLines(Predicate<Batch> batchFilter, Long orderId) {
+            Iterator<Batch> it = batches.values().iterator();
+            while (it.hasNext()) {
+                Batch batch = it.next();
+                if (batchFilter.test(batch) && batch.lines.removeIf(l -> l.getOrderId().equals(orderId))) {
+                    batch.quantity = batch.lines.stream().mapToInt(KitchenTicketLine::getQuantity).sum();
+                    if (batch.lines.isEmpty()) it.remove();
+                }
+            }
+        }
+
+        synchronized KitchenBatchView view(String batchId, Instant now) {
+            BatchKey key = BatchKey.parse(batchId);
+            Batch batch = key == null ? null : batches.get(key);
+            return batch == null ? null : batch.view(name, now);
+        }
+
+        synchronized List<KitchenBatchView> views(Instant now) {
+            List<KitchenBatchView> out = new ArrayList<>(batches.size());
+            for (Batch batch : batches.values()) out.add(batch.view(name, now));
+            return out;
+        }
+
+        synchronized KitchenStationSummary summary() {
+            int portions = 0;
+            for (Batch batch : batches.values()) portions += batch.quantity;
+            return new KitchenStationSummary(name, batches.size(), portions);
+        }
+    }
+
+    /** Batch identity, shown to clients as {@code <menuItemId>-<window start epoch second>}. */
+    private record BatchKey(Instant opensAt, Long menuItemId) implements Comparable<BatchKey> {
+
+        static BatchKey parse(String id) {
+            int split = id == null ? -1 : id.indexOf('-');
+            if (split < 1) return null;
+            try {
+                return new BatchKey(Instant.ofEpochSecond(Long.parseLong(id.substring(split + 1))),
+                        Long.valueOf(id.substring(0, split)));
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+
+        String id() {
+            return menuItemId + "-" + opensAt.getEpochSecond();
+        }
+
+        @Override
+        public int compareTo(BatchKey o) {
+            int c = opensAt.compareTo(o.opensAt);
+            return c != 0 ? c : menuItemId.compareTo(o.menuItemId);
+        }
+    }
+
+    private static final class Batch {
+        final Long menuItemId;
+        final String name;
+        final Instant openedAt;
+        final Instant sealsAt;
+        final List<KitchenTicketLine> lines = new ArrayList<>();
+        int quantity;
+
+        Batch(Long menuItemId, String name, Instant openedAt, Instant sealsAt) {
+            this.menuItemId = menuItemId;
+            this.name = name;
+            this.openedAt = openedAt;
+            this.sealsAt = sealsAt;
+        }
+
+        KitchenBatchView view(String station, Instant now) {
+            return new KitchenBatchView(new BatchKey(openedAt, menuItemId).id(), station, menuItemId, name, quantity,
+                    openedAt, sealsAt, !now.isBefore(sealsAt), List.copyOf(lines));
+        }
+    }
+}
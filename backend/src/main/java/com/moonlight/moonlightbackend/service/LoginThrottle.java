@@ -0,0 +1,84 @@
+package com.moonlight.moonlightbackend.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Sliding-window login attempt limits per username and per client IP. Each
+ * key keeps the counts of the current and previous fixed window; the
+ * previous count is weighted by how much of it still overlaps the sliding
+ * window, which approximates a true sliding log in constant memory.
+ */
+@Service
+public class LoginThrottle {
+
+    private final long windowMillis;
+    private final int maxPerUsername;
+    private final int maxPerIp;
+    private final Map<String, Window> windows = new ConcurrentHashMap<>();
+
+    public LoginThrottle(@Value("${app.admin.login.window-seconds:60}") long windowSeconds,
+                         @Value("${app.admin.login.max-per-username:10}") int maxPerUsername,
+                         @Value("${app.admin.login.max-per-ip:30}") int maxPerIp) {
+        this.windowMillis = windowSeconds * 1000;
+        this.maxPerUsername = maxPerUsername;
+        this.maxPerIp = maxPerIp;
+    }
+
+    /**
+     * Records an attempt for both keys.
+     *
+     * @throws LoginThrottledException if either key is over its limit
+     */
+    public void acquire(String username, String ip) {
+        long now = System.currentTimeMillis();
+        boolean userOk = record("u:" + (username == null ? "" : username.toLowerCase()), maxPerUsername, now);
+        boolean ipOk = record("ip:" + ip, maxPerIp, now);
+        if (!userOk || !ipOk) {
+            throw new LoginThrottledException(Math.max(1, windowMillis / 1000));
+        }
+    }
+
+    public void reset(String username) {
+        windows.remove("u:" + (username == null ? "" : username.toLowerCase()));
+    }
+
+    @Scheduled(fixedDelayString = "${app.admin.login.cleanup-ms:300000}")
+    public void purgeIdle() {
+        long cutoff = System.currentTimeMillis() - 2 * windowMillis;
+        windows.values().removeIf(w -> w.lastSeen() < cutoff);
+    }
+
+    private boolean record(String key, int limit, long now) {
+        return windows.computeIfAbsent(key, k -> new Window()).tryAdd(now, windowMillis, limit);
+    }
+
+    private static final class Window {
+        private long start = -1;
+        private int current;
+        private int previous;
+        private long lastSeen;
+
+        synchronized boolean tryAdd(long now, long size, int limit) {
+            long aligned = now - (now % size);
+            if (aligned != start) {
+                previous = start >= 0 && aligned - start == size ? current : 0;
+                current = 0;
+                start = aligned;
+            }
+            lastSeen = now;
+            double overlap = 1.0 - (double) (now - start) / size;
+            if (previous * overlap + current >= limit) return false;
+            current++;
+            return true;
+        }
+
+        synchronized long lastSeen() {
+            return lastSeen;
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.moonlight.moonlightbackend.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.moonlight.moonlightbackend.config.ReplicaRouting;
+import com.moonlight.moonlightbackend.repository.MenuItemRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Holds the current {@link MenuSnapshot}. Readers never hit the database;
+ * menu writes rebuild the snapshot once their transaction has committed.
+ * ETags carry the shared menu_version, so every node tags the same menu alike.
+ */
+@Service
+public class MenuCache {
+
+    private final MenuItemRepository menuItemRepository;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate readTx;
+    // Without the shared version (menu sync off) tags are only valid for this process
+    private final boolean sharedVersion;
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+    private final AtomicLong versions = new AtomicLong();
+    private final AtomicReference<MenuSnapshot> current = new AtomicReference<>();
+
+    public MenuCache(MenuItemRepository menuItemRepository, ObjectMapper objectMapper,
+                     PlatformTransactionManager txManager,
+                     @Value("${app.menu.sync.enabled:true}") boolean sharedVersion) {
+        this.menuItemRepository = menuItemRepository;
+        this.sharedVersion = sharedVersion;
+        this.objectMapper = objectMapper;
+        this.readTx = new TransactionTemplate(txManager);
+        this.readTx.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.readTx.setReadOnly(true);
+        // One snapshot for the version and the items, so a tag never names other content
+        this.readTx.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+    }
+
+    public MenuSnapshot current() {
+        MenuSnapshot snapshot = current.get();
+        return snapshot != null ? snapshot : reload();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        reload();
+    }
+
+    public MenuSnapshot reload() {
+        // Take the version before reading so a slower, older reload can never replace a newer one
+        long version = versions.incrementAndGet();
+        // Reloads follow a commit just made or announced, which a replica may not have replayed yet
+        MenuSnapshot next = ReplicaRouting.onPrimary(() -> readTx.execute(status -> {
+            String tag = sharedVersion ? "v" + menuItemRepository.findMenuVersion() : epoch + "-v" + version;
+            return new MenuSnapshot(tag, version, menuItemRepository.findAllViews(), this::serialize);
+        }));
+        return current.accumulateAndGet(next, (prev, candidate) ->
+                prev == null || candidate.getVersion() > prev.getVersion() ? candidate : prev);
+    }
+
+    public void reloadAfterCommit() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            reload();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                reload();
+            }
+        });
+    }
+
+    private byte[] serialize(Object value) {
+        try {
+            return objectMapper.writeValueAsBytes(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unable to serialize menu", e);
+        }
+    }
+}
@@ -0,0 +1,195 @@
+package com.moonlight.moonlightbackend.service;
+
+import com.moonlight.moonlightbackend.config.ReplicaRouting;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keeps every node's {@link MenuCache} in step with menu writes made on any node.
+ * A write bumps the menu_version row and sends a NOTIFY in the same transaction, so
+ * other nodes hear about it only once it has committed. Each node LISTENs on a
+ * dedicated connection and reloads when it sees a version newer than the one its
+ * cache was built from; a periodic version read covers missed notifications and
+ * listener reconnects.
+ */
+@Service
+public class MenuChangeChannel {
+
+    private static final Logger log = LoggerFactory.getLogger(MenuChangeChannel.class);
+
+    static final String CHANNEL = "menu_changed";
+
+    private static final String PUBLISH_SQL = """
+            WITH bumped AS (UPDATE menu_version SET version = version + 1 WHERE id = 1 RETURNING version)
+            SELECT version, pg_notify('menu_changed', version::text) FROM bumped
+            """;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final MenuCache menuCache;
+    private final DataSourceProperties dataSourceProperties;
+    private final TransactionTemplate readTx;
+    private final MeterRegistry meterRegistry;
+    private final boolean enabled;
+    private final int listenTimeoutMillis;
+    private final long reconnectMaxMillis;
+
+    // Highest menu_version this node has reloaded for
+    private final AtomicLong seenVersion = new AtomicLong(-1);
+    private volatile boolean running;
+    private volatile Connection listenConnection;
+    private Thread listener;
+
+    public MenuChangeChannel(MenuCache menuCache, DataSourceProperties dataSourceProperties,
+                             PlatformTransactionManager transactionManager, MeterRegistry meterRegistry,
+                             @Value("${app.menu.sync.enabled:true}") boolean enabled,
+                             @Value("${app.menu.sync.listen-timeout-ms:10000}") int listenTimeoutMillis,
+                             @Value("${app.menu.sync.reconnect-max-ms:30000}") long reconnectMaxMillis) {
+        this.menuCache = menuCache;
+        this.dataSourceProperties = dataSourceProperties;
+        this.readTx = new TransactionTemplate(transactionManager);
+        this.readTx.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.readTx.setReadOnly(true);
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.listenTimeoutMillis = listenTimeoutMillis;
+        this.reconnectMaxMillis = reconnectMaxMillis;
+    }
+
+    /**
+     * Records a menu change in the caller's transaction and reloads this node's cache
+     * after commit. Other nodes are told by the NOTIFY, which PostgreSQL only delivers on commit.
+     */
+    public void publishChange() {
+        if (enabled) {
+            Object[] row = (Object[]) entityManager.createNativeQuery(PUBLISH_SQL).getSingleResult();
+            long version = ((Number) row[0]).longValue();
+            if (TransactionSynchronizationManager.isSynchronizationActive()) {
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        refresh(version, "local");
+                    }
+                });
+                return;
+            }
+        }
+        menuCache.reloadAfterCommit();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled) {
+            log.info("Menu change channel disabled; menu edits on other nodes will not be seen until restart");
+            return;
+        }
+        checkVersion();
+        running = true;
+        listener = new Thread(this::listen, "menu-change-listener");
+        listener.setDaemon(true);
+        listener.start();
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        closeQuietly(listenConnection);
+        if (listener != null) listener.interrupt();
+    }
+
+    /** Fallback for notifications lost while the listener was disconnected. */
+    @Scheduled(fixedDelayString = "${app.menu.sync.check-ms:30000}", initialDelayString = "${app.menu.sync.check-ms:30000}")
+    public void checkVersion() {
+        if (!enabled) return;
+        Number version = ReplicaRouting.onPrimary(() -> readTx.execute(s -> (Number) entityManager
+                .createNativeQuery("SELECT version FROM menu_version WHERE id = 1")
+                .getSingleResult()));
+        if (version != null) refresh(version.longValue(), "poll");
+    }
+
+    private void listen() {
+        long backoff = 500;
+        while (running) {
+            try (Connection c = DriverManager.getConnection(dataSourceProperties.determineUrl(),
+                    dataSourceProperties.determineUsername(), dataSourceProperties.determinePassword())) {
+                listenConnection = c;
+                try (Statement st = c.createStatement()) {
+                    st.execute("LISTEN " + CHANNEL);
+                }
+                // Anything committed before LISTEN took effect was not announced to us
+                checkVersion();
+                backoff = 500;
+                PGConnection pg = c.unwrap(PGConnection.class);
+                while (running) {
+                    PGNotification[] notifications = pg.getNotifications(listenTimeoutMillis);
+                    if (notifications == null) continue;
+                    long latest = -1;
+                    for (PGNotification n : notifications) latest = Math.max(latest, parse(n.getParameter()));
+                    if (latest >= 0) refresh(latest, "notify");
+                }
+            } catch (SQLException | RuntimeException e) {
+                if (!running) return;
+                log.warn("Menu change listener lost its connection; retrying in {} ms: {}", backoff, e.getMessage());
+                try {
+                    Thread.sleep(backoff);
+                } catch (InterruptedException ie) {
+                    return;
+                }
+                backoff = Math.min(backoff * 2, reconnectMaxMillis);
+            } finally {
+                listenConnection = null;
+            }
+        }
+    }
+
+    private void refresh(long version, String source) {
+        if (version <= seenVersion.get()) return;
+        // The reload reads after the version was committed, so it includes at least that commit.
+        // The version is only recorded once the reload succeeded; a failed one is retried by the next check
+        menuCache.reload();
+        seenVersion.accumulateAndGet(version, Math::max);
+        meterRegistry.counter("menu.cache.reloads", "source", source).increment();
+        log.debug("Menu reloaded for version {} ({})", version, source);
+    }
+
+    private static long parse(String payload) {
+        try {
+            return Long.parseLong(payload.trim());
+        } catch (RuntimeException e) {
+            return -1;
+        }
+    }
+
+    private static void closeQuietly(Connection c) {
+        if (c == null) return;
+        try {
+            c.close();
+        } catch (SQLException ignored) {
+            // shutting down
+        }
+    }
+}
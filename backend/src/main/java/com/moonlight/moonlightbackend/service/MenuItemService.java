@@ -12,9 +12,11 @@ import java.util.List;
 public class MenuItemService {
 
     private final MenuItemRepository menuItemRepository;
+    private final MenuChangeChannel menuChangeChannel;
 
-    public MenuItemService(MenuItemRepository menuItemRepository) {
+    public MenuItemService(MenuItemRepository menuItemRepository, MenuChangeChannel menuChangeChannel) {
         this.menuItemRepository = menuItemRepository;
+        this.menuChangeChannel = menuChangeChannel;
     }
 
     @Transactional(readOnly = true)
@@ -37,7 +39,9 @@ public class MenuItemService {
         item.setCategory(request.getCategory());
         item.setActive(request.getActive() != null ? request.getActive() : true);
         
-        return menuItemRepository.save(item);
+        MenuItem saved = menuItemRepository.save(item);
+        menuChangeChannel.publishChange();
+        return saved;
     }
 
     @Transactional
@@ -50,19 +54,24 @@ public class MenuItemService {
         if (request.getCategory() != null) item.setCategory(request.getCategory());
         if (request.getActive() != null) item.setActive(request.getActive());
         
-        return menuItemRepository.save(item);
+        MenuItem saved = menuItemRepository.save(item);
+        menuChangeChannel.publishChange();
+        return saved;
     }
 
     @Transactional
     public void deleteMenuItem(Long id) {
         MenuItem item = getMenuItemById(id);
         menuItemRepository.delete(item);
+        menuChangeChannel.publishChange();
     }
 
     @Transactional
     public MenuItem toggleMenuItemStatus(Long id) {
         MenuItem item = getMenuItemById(id);
         item.setActive(!item.getActive());
-        return menuItemRepository.save(item);
+        MenuItem saved = menuItemRepository.save(item);
+        menuChangeChannel.publishChange();
+        return saved;
     }
 }
@@ -0,0 +1,65 @@
+package com.moonlight.moonlightbackend.service;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Pre-encoded JSON body (plus its gzip form) for one menu version. The ETags carry a
+ * hash of the encoded body as well as the version, so a change in how the menu is
+ * serialized (a deploy) or an edit that did not bump the version still changes them.
+ */
+public final class MenuPayload {
+
+    private final String etag;
+    private final String gzipEtag;
+    private final byte[] json;
+    private final byte[] gzip;
+
+    public MenuPayload(String tag, byte[] json) {
+        String name = tag + "-" + digest(json);
+        this.etag = "\"" + name + "\"";
+        this.gzipEtag = "\"" + name + "-gzip\"";
+        this.json = json;
+        this.gzip = compress(json);
+    }
+
+    public String getEtag() { return etag; }
+    public String getGzipEtag() { return gzipEtag; }
+
+    // Callers must not modify the returned arrays
+    public byte[] getJson() { return json; }
+    public byte[] getGzip() { return gzip; }
+
+    public boolean matches(String ifNoneMatch) {
+        if (ifNoneMatch == null || ifNoneMatch.isBlank()) return false;
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.startsWith("W/")) tag = tag.substring(2);
+            if (tag.equals("*") || tag.equals(etag) || tag.equals(gzipEtag)) return true;
+        }
+        return false;
+    }
+
+    private static String digest(byte[] raw) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(raw), 0, 8);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static byte[] compress(byte[] raw) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, raw.length / 4));
+        try (GZIPOutputStream gz = new GZIPOutputStream(out)) {
+            gz.write(raw);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,65 @@
+package com.moonlight.moonlightbackend.service;
+
+import com.moonlight.moonlightbackend.dto.MenuItemView;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Immutable view of the menu at a given version. Items keep the
+ * category/name ordering of the underlying query; {@code tag} names the
+ * content in the ETags.
+ */
+public final class MenuSnapshot {
+
+    private final long version;
+    private final List<MenuItemView> allItems;
+    private final List<MenuItemView> items;
+    private final Map<String, List<MenuItemView>> byCategory;
+    private final Map<Long, MenuItemView> byId;
+    private final Map<Long, MenuItemView> allById;
+    private final MenuPayload activePayload;
+    private final MenuPayload allPayload;
+
+    public MenuSnapshot(String tag, long version, List<MenuItemView> allItems, Function<Object, byte[]> serializer) {
+        this.version = version;
+        this.allItems = List.copyOf(allItems);
+        this.items = this.allItems.stream().filter(mi -> Boolean.TRUE.equals(mi.getActive())).toList();
+
+        Map<String, List<MenuItemView>> grouped = new LinkedHashMap<>();
+        Map<Long, MenuItemView> ids = new HashMap<>();
+        for (MenuItemView mi : this.items) {
+            grouped.computeIfAbsent(mi.getCategory(), k -> new ArrayList<>()).add(mi);
+            ids.put(mi.getId(), mi);
+        }
+        grouped.replaceAll((k, v) -> List.copyOf(v));
+        this.byCategory = Collections.unmodifiableMap(grouped);
+        this.byId = Collections.unmodifiableMap(ids);
+        Map<Long, MenuItemView> all = new HashMap<>();
+        for (MenuItemView mi : this.allItems) all.put(mi.getId(), mi);
+        this.allById = Collections.unmodifiableMap(all);
+
+        this.activePayload = new MenuPayload("menu-" + tag, serializer.apply(this.items));
+        this.allPayload = new MenuPayload("menu-all-" + tag, serializer.apply(this.allItems));
+    }
+
+    public long getVersion() { return version; }
+    public List<MenuItemView> getAllItems() { return allItems; }
+    public List<MenuItemView> getItems() { return items; }
+    public Map<String, List<MenuItemView>> getByCategory() { return byCategory; }
+    public MenuPayload getActivePayload() { return activePayload; }
+    public MenuPayload getAllPayload() { return allPayload; }
+
+    public MenuItemView findActive(Long id) {
+        return id == null ? null : byId.get(id);
+    }
+
+    public MenuItemView find(Long id) {
+        return id == null ? null : allById.get(id);
+    }
+}
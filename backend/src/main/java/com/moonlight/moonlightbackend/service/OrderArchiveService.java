@@ -0,0 +1,114 @@
+package com.moonlight.moonlightbackend.service;
+
+import com.moonlight.moonlightbackend.repository.OrderRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Keeps the monthly order partitions ahead of time and the hot tables small: closed
+ * orders older than the retention are folded into order_daily_summaries in batches,
+ * then month partitions left empty are dropped. Only one node at a time does this, under
+ * an advisory lock. Needs the PostgreSQL schema from the Flyway migrations, so profiles
+ * running on another database switch it off.
+ */
+@Service
+@ConditionalOnProperty(name = "app.orders.archive.enabled", havingValue = "true", matchIfMissing = true)
+public class OrderArchiveService {
+
+    private static final Logger log = LoggerFactory.getLogger(OrderArchiveService.class);
+
+    private final OrderRepository orderRepository;
+    private final TransactionTemplate tx;
+    private final Counter archived;
+    private final Duration retention;
+    private final int batchSize;
+    private final int monthsAhead;
+    private final Duration lockTimeout;
+
+    public OrderArchiveService(OrderRepository orderRepository, PlatformTransactionManager transactionManager,
+                               MeterRegistry meterRegistry,
+                               @Value("${app.orders.archive.retain-days:90}") long retainDays,
+                               @Value("${app.orders.archive.batch-size:1000}") int batchSize,
+                               @Value("${app.orders.archive.months-ahead:3}") int monthsAhead,
+                               @Value("${app.orders.archive.lock-timeout-ms:2000}") long lockTimeoutMillis) {
+        if (retainDays < 1) throw new IllegalArgumentException("app.orders.archive.retain-days must be at least 1");
+        this.orderRepository = orderRepository;
+        this.tx = new TransactionTemplate(transactionManager);
+        this.tx.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.archived = Counter.builder("orders.archived")
+                .description("Closed orders folded into daily summaries")
+                .register(meterRegistry);
+        this.retention = Duration.ofDays(retainDays);
+        this.batchSize = batchSize;
+        this.monthsAhead = monthsAhead;
+        this.lockTimeout = Duration.ofMillis(lockTimeoutMillis);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void ensurePartitions() {
+        // A node holding the lock is creating them already
+        orderRepository.runExclusively(this::createPartitions);
+    }
+
+    @Scheduled(cron = "${app.orders.archive.cron:0 15 4 * * *}")
+    public void archive() {
+        if (!orderRepository.runExclusively(this::archiveAndDropPartitions)) {
+            log.info("Order archival is already running on another node");
+        }
+    }
+
+    private void createPartitions() {
+        // Partition bounds are UTC months, see V3__partition_orders_by_month.sql
+        LocalDate thisMonth = LocalDate.now(ZoneOffset.UTC).withDayOfMonth(1);
+        Integer created = tx.execute(s -> orderRepository.ensurePartitions(thisMonth, monthsAhead + 1));
+        if (created != null && created > 0) log.info("Created {} monthly order partitions", created);
+    }
+
+    private void archiveAndDropPartitions() {
+        createPartitions();
+        Instant cutoff = Instant.now().minus(retention);
+        long total = 0;
+        while (true) {
+            // One transaction per batch keeps locks and WAL per statement bounded
+            Integer moved = tx.execute(s -> orderRepository.archiveClosedBefore(cutoff, batchSize));
+            if (moved == null || moved == 0) break;
+            total += moved;
+            archived.increment(moved);
+            if (moved < batchSize) break;
+        }
+        if (total > 0) log.info("Archived {} closed orders created before {}", total, cutoff);
+
+        LocalDate cutoffMonth = LocalDate.ofInstant(cutoff, ZoneOffset.UTC).withDayOfMonth(1);
+        List<String> dropped = new ArrayList<>();
+        // One short transaction per partition, so the parent tables are locked only for one DETACH at a time
+        for (String name : tx.execute(s -> orderRepository.findPartitionsBefore(cutoffMonth))) {
+            try {
+                if (Boolean.TRUE.equals(tx.execute(s -> orderRepository.dropPartitionIfEmpty(name, lockTimeout)))) {
+                    dropped.add(name);
+                }
+            } catch (PessimisticLockingFailureException e) {
+                log.warn("Order partition {} is busy; dropping it again next run", name);
+            }
+        }
+        if (!dropped.isEmpty()) log.info("Dropped empty order partitions {}", dropped);
+    }
+}
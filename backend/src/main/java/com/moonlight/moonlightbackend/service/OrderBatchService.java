@@ -0,0 +1,178 @@
+package com.moonlight.moonlightbackend.service;
+
+import com.moonlight.moonlightbackend.dto.BatchOrderResponse;
+import com.moonlight.moonlightbackend.dto.BatchOrderResult;
+import com.moonlight.moonlightbackend.config.ReplicaRouting;
+import com.moonlight.moonlightbackend.dto.CreateOrderRequest;
+import com.moonlight.moonlightbackend.dto.OrderView;
+import com.moonlight.moonlightbackend.event.OrderCreatedEvent;
+import com.moonlight.moonlightbackend.model.IdempotencyRecord;
+import com.moonlight.moonlightbackend.model.Order;
+import com.moonlight.moonlightbackend.repository.OrderRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Ingests queued orders from offline tablets. Every order is priced against
+ * one menu snapshot, then valid orders are written in fixed-size chunks, one
+ * transaction per chunk, so JDBC batching spans many orders at once.
+ *
+ * A batch carries an Idempotency-Key; order i is stored under {@code <key>:<i>} in
+ * idempotency_keys, in the same transaction as the order, so resending a batch returns
+ * the orders created the first time instead of creating them again.
+ */
+@Service
+public class OrderBatchService {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final OrderService orderService;
+    private final OrderIdempotencyService idempotencyService;
+    private final OrderRepository orderRepository;
+    private final MenuCache menuCache;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate writeTx;
+    private final int chunkSize;
+    private final int maxOrders;
+
+    public OrderBatchService(OrderService orderService, OrderIdempotencyService idempotencyService,
+                             OrderRepository orderRepository, MenuCache menuCache,
+                             ApplicationEventPublisher eventPublisher, PlatformTransactionManager txManager,
+                             @Value("${app.orders.batch.chunk-size:50}") int chunkSize,
+                             @Value("${app.orders.batch.max-orders:500}") int maxOrders) {
+        this.orderService = orderService;
+        this.idempotencyService = idempotencyService;
+        this.orderRepository = orderRepository;
+        this.menuCache = menuCache;
+        this.eventPublisher = eventPublisher;
+        this.writeTx = new TransactionTemplate(txManager);
+        this.writeTx.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.chunkSize = chunkSize;
+        this.maxOrders = maxOrders;
+    }
+
+    public BatchOrderResponse createOrders(String batchKey, List<CreateOrderRequest> requests) {
+        if (batchKey == null || batchKey.isBlank() || batchKey.length() > OrderIdempotencyService.MAX_BATCH_KEY_LENGTH) {
+            throw new IllegalArgumentException("Idempotency-Key must be 1-"
+                    + OrderIdempotencyService.MAX_BATCH_KEY_LENGTH + " characters");
+        }
+        if (requests == null || requests.isEmpty()) {
+            throw new IllegalArgumentException("Batch must contain at least one order");
+        }
+        if (requests.size() > maxOrders) {
+            throw new IllegalArgumentException("Batch exceeds " + maxOrders + " orders");
+        }
+
+        MenuSnapshot menu = menuCache.current();
+        BatchOrderResult[] results = new BatchOrderResult[requests.size()];
+        String[] keys = new String[requests.size()];
+        String[] hashes = new String[requests.size()];
+        for (int i = 0; i < requests.size(); i++) {
+            keys[i] = OrderIdempotencyService.batchOrderKey(batchKey, i);
+            hashes[i] = idempotencyService.requestHash(requests.get(i));
+        }
+        List<Integer> all = new ArrayList<>(requests.size());
+        for (int i = 0; i < requests.size(); i++) all.add(i);
+        resolveEarlier(all, keys, hashes, results);
+
+        List<Integer> pendingIndexes = new ArrayList<>();
+        List<Order> pending = new ArrayList<>();
+
+        for (int i = 0; i < requests.size(); i++) {
+            if (results[i] != null) continue;
+            try {
+                pending.add(orderService.buildOrder(requests.get(i), menu::findActive));
+                pendingIndexes.add(i);
+            } catch (IllegalArgumentException e) {
+                results[i] = BatchOrderResult.failed(i, e.getMessage());
+            }
+        }
+
+        for (int from = 0; from < pending.size(); from += chunkSize) {
+            int to = Math.min(from + chunkSize, pending.size());
+            List<Order> chunk = pending.subList(from, to);
+            List<Integer> indexes = pendingIndexes.subList(from, to);
+            try {
+                persist(chunk, indexes, keys, hashes);
+                for (int j = 0; j < chunk.size(); j++) {
+                    Order o = chunk.get(j);
+                    results[indexes.get(j)] = BatchOrderResult.created(indexes.get(j), o.getId(), o.getTotalAmount());
+                }
+            } catch (DataAccessException e) {
+                // Isolate the failing order(s) by retrying the chunk one order per transaction
+                for (int j = 0; j < chunk.size(); j++) {
+                    results[indexes.get(j)] = persistSingle(indexes.get(j), chunk.get(j), keys, hashes);
+                }
+            }
+        }
+
+        return new BatchOrderResponse(menu.getVersion(), Arrays.asList(results));
+    }
+
+    /** Fills in the entries at {@code indexes} that an earlier attempt of this batch already stored. */
+    private void resolveEarlier(List<Integer> indexes, String[] keys, String[] hashes, BatchOrderResult[] results) {
+        Map<String, IdempotencyRecord> earlier = idempotencyService.findRecords(indexes.stream().map(i -> keys[i]).toList());
+        if (earlier.isEmpty()) return;
+        Map<Long, BigDecimal> totals = new HashMap<>();
+        List<Long> orderIds = earlier.values().stream().map(IdempotencyRecord::getOrderId).toList();
+        ReplicaRouting.onPrimary(() -> orderRepository.findViewsByIdIn(orderIds))
+                .forEach(v -> totals.put(v.getId(), v.getTotalAmount()));
+        for (int i : indexes) {
+            IdempotencyRecord record = earlier.get(keys[i]);
+            if (record == null) continue;
+            results[i] = OrderIdempotencyService.matches(record, hashes[i])
+                    ? BatchOrderResult.created(i, record.getOrderId(), totals.get(record.getOrderId()))
+                    : BatchOrderResult.failed(i, new IdempotencyKeyMismatchException().getMessage());
+        }
+    }
+
+    private void persist(List<Order> chunk, List<Integer> indexes, String[] keys, String[] hashes) {
+        writeTx.executeWithoutResult(status -> {
+            orderRepository.saveAll(chunk);
+            Instant now = Instant.now();
+            for (int j = 0; j < chunk.size(); j++) {
+                IdempotencyRecord record = new IdempotencyRecord();
+                record.setIdempotencyKey(keys[indexes.get(j)]);
+                record.setOrderId(chunk.get(j).getId());
+                record.setCreatedAt(now);
+                record.setRequestHash(hashes[indexes.get(j)]);
+                entityManager.persist(record);
+            }
+            // Flush through the repository so a key taken meanwhile surfaces as a DataAccessException here
+            orderRepository.flush();
+            chunk.forEach(o -> eventPublisher.publishEvent(new OrderCreatedEvent(o)));
+        });
+    }
+
+    private BatchOrderResult persistSingle(int index, Order order, String[] keys, String[] hashes) {
+        // The failed chunk may have assigned ids to entities that were rolled back
+        order.setId(null);
+        order.setVersion(null);
+        order.getItems().forEach(oi -> oi.setId(null));
+        try {
+            persist(List.of(order), List.of(index), keys, hashes);
+            return BatchOrderResult.created(index, order.getId(), order.getTotalAmount());
+        } catch (DataAccessException e) {
+            // The same batch, resent while this attempt was running, may have stored it first
+            BatchOrderResult[] earlier = new BatchOrderResult[keys.length];
+            resolveEarlier(List.of(index), keys, hashes, earlier);
+            return earlier[index] != null ? earlier[index] : BatchOrderResult.failed(index, "Could not store order");
+        }
+    }
+}
@@ -0,0 +1,378 @@
+package com.moonlight.moonlightbackend.service;
+
+import com.moonlight.moonlightbackend.config.ReplicaRouting;
+import com.moonlight.moonlightbackend.dto.OrderItemView;
+import com.moonlight.moonlightbackend.dto.OrderView;
+import com.moonlight.moonlightbackend.event.KitchenLineCompletedEvent;
+import com.moonlight.moonlightbackend.event.OrderChange;
+import com.moonlight.moonlightbackend.event.OrderCreatedEvent;
+import com.moonlight.moonlightbackend.event.OrderStatusChangedEvent;
+import com.moonlight.moonlightbackend.model.Order;
+import com.moonlight.moonlightbackend.model.OrderStatus;
+import com.moonlight.moonlightbackend.repository.OrderRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Delivers every committed order change (and kitchen line completion) to the {@link OrderChangeListener}s of every node.
+ * A writer NOTIFYs its changes on order_changed in its own transaction, tagged with its
+ * transaction id; each node, the writer included, LISTENs on a dedicated connection and
+ * hands the changes on in commit order. After LISTEN (at startup and on every reconnect)
+ * the listeners resync inside a transaction whose snapshot is recorded, and notifications
+ * from transactions already visible in that snapshot are dropped, so no change is missed
+ * or applied twice around a rebuild.
+ *
+ * With the channel disabled (H2 profiles) changes are delivered after commit on the node
+ * that made them only.
+ */
+@Service
+public class OrderChangeChannel implements SmartInitializingSingleton {
+
+    private static final Logger log = LoggerFactory.getLogger(OrderChangeChannel.class);
+
+    static final String CHANNEL = "order_changed";
+
+    private static final String NOTIFY_SQL = "SELECT pg_notify('order_changed', pg_current_xact_id()::text || chr(10) || ?1)";
+    // NOTIFY payloads must stay under 8000 bytes; lines are ASCII
+    private static final int MAX_PAYLOAD = 7000;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final List<OrderChangeListener> listeners;
+    private final OrderRepository orderRepository;
+    private final DataSourceProperties dataSourceProperties;
+    private final TransactionTemplate readTx;
+    private final TransactionTemplate snapshotTx;
+    private final MeterRegistry meterRegistry;
+    private final boolean enabled;
+    private final int listenTimeoutMillis;
+    private final long reconnectMaxMillis;
+    private final long startupWaitMillis;
+
+    // Key for the current transaction's pending NOTIFY lines
+    private final Object pendingKey = new Object();
+    // Transactions visible to the last resync; only used by the listener thread
+    private XidSnapshot baseline;
+    private volatile boolean running;
+    private volatile Connection listenConnection;
+    private Thread listener;
+
+    public OrderChangeChannel(List<OrderChangeListener> listeners, OrderRepository orderRepository,
+                              DataSourceProperties dataSourceProperties, PlatformTransactionManager transactionManager,
+                              MeterRegistry meterRegistry,
+                              @Value("${app.orders.sync.enabled:true}") boolean enabled,
+                              @Value("${app.orders.sync.listen-timeout-ms:10000}") int listenTimeoutMillis,
+                              @Value("${app.orders.sync.reconnect-max-ms:30000}") long reconnectMaxMillis,
+                              @Value("${app.orders.sync.startup-wait-ms:30000}") long startupWaitMillis) {
+        this.listeners = listeners;
+        this.orderRepository = orderRepository;
+        this.dataSourceProperties = dataSourceProperties;
+        this.readTx = new TransactionTemplate(transactionManager);
+        this.readTx.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.readTx.setReadOnly(true);
+        this.snapshotTx = new TransactionTemplate(transactionManager);
+        this.snapshotTx.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.snapshotTx.setReadOnly(true);
+        // Every listener's rebuild reads the snapshot that was recorded as the baseline
+        this.snapshotTx.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.listenTimeoutMillis = listenTimeoutMillis;
+        this.reconnectMaxMillis = reconnectMaxMillis;
+        this.startupWaitMillis = startupWaitMillis;
+    }
+
+    @EventListener
+    public void onOrderCreated(OrderCreatedEvent event) {
+        Order order = event.getOrder();
+        if (enabled) {
+            enqueue("C;" + order.getId() + ";" + order.getStatus() + ";" + text(order.getVersion()));
+        } else {
+            afterCommit(() -> OrderChange.created(OrderView.from(order)));
+        }
+    }
+
+    @EventListener
+    public void onOrderStatusChanged(OrderStatusChangedEvent event) {
+        if (enabled) {
+            enqueue("S;" + event.getOrderId() + ";" + text(event.getTableNumber()) + ";" + event.getPreviousStatus()
+                    + ";" + event.getStatus() + ";" + event.getVersion());
+        } else {
+            afterCommit(() -> OrderChange.statusChanged(event.getOrderId(), event.getTableNumber(),
+                    event.getPreviousStatus(), event.getStatus(), event.getVersion()));
+        }
+    }
+
+    @EventListener
+    public void onKitchenLineCompleted(KitchenLineCompletedEvent event) {
+        if (enabled) {
+            enqueue("K;" + event.getOrderId() + ";" + event.getMenuItemId());
+        } else {
+            afterCommit(() -> OrderChange.lineCompleted(event.getOrderId(), event.getMenuItemId()));
+        }
+    }
+
+    /** Runs before any request or scheduled job, so with the channel disabled the first resync races nothing. */
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (!enabled) {
+            log.info("Order change channel disabled; order state on this node only reflects its own writes");
+            ReplicaRouting.onPrimary(() -> readTx.execute(s -> {
+                listeners.forEach(OrderChangeListener::resync);
+                return null;
+            }));
+            return;
+        }
+        running = true;
+        CountDownLatch synced = new CountDownLatch(1);
+        listener = new Thread(() -> listen(synced), "order-change-listener");
+        listener.setDaemon(true);
+        listener.start();
+        try {
+            if (!synced.await(startupWaitMillis, TimeUnit.MILLISECONDS)) {
+                log.warn("Order state not yet loaded after {} ms; continuing in the background", startupWaitMillis);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        closeQuietly(listenConnection);
+        if (listener != null) listener.interrupt();
+    }
+
+    @SuppressWarnings("unchecked")
+    private void enqueue(String line) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("Order changes must be published inside a transaction");
+        }
+        List<String> pending = (List<String>) TransactionSynchronizationManager.getResource(pendingKey);
+        if (pending == null) {
+            List<String> lines = new ArrayList<>();
+            TransactionSynchronizationManager.bindResource(pendingKey, lines);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void beforeCommit(boolean readOnly) {
+                    send(lines);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(pendingKey);
+                }
+            });
+            pending = lines;
+        }
+        pending.add(line);
+    }
+
+    private void send(List<String> lines) {
+        StringBuilder chunk = new StringBuilder();
+        for (String line : lines) {
+            if (!chunk.isEmpty() && chunk.length() + line.length() + 1 > MAX_PAYLOAD) {
+                entityManager.createNativeQuery(NOTIFY_SQL).setParameter(1, chunk.toString()).getSingleResult();
+                chunk.setLength(0);
+            }
+            if (!chunk.isEmpty()) chunk.append('\n');
+            chunk.append(line);
+        }
+        if (!chunk.isEmpty()) {
+            entityManager.createNativeQuery(NOTIFY_SQL).setParameter(1, chunk.toString()).getSingleResult();
+        }
+    }
+
+    private void afterCommit(Supplier<OrderChange> change) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            dispatch(change.get());
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                dispatch(change.get());
+            }
+        });
+    }
+
+    private void listen(CountDownLatch synced) {
+        long backoff = 500;
+        while (running) {
+            try (Connection c = DriverManager.getConnection(dataSourceProperties.determineUrl(),
+                    dataSourceProperties.determineUsername(), dataSourceProperties.determinePassword())) {
+                listenConnection = c;
+                try (Statement st = c.createStatement()) {
+                    st.execute("LISTEN " + CHANNEL);
+                }
+                // Changes committed before LISTEN took effect were not announced to us; the resync reads them
+                baseline = resync();
+                synced.countDown();
+                backoff = 500;
+                PGConnection pg = c.unwrap(PGConnection.class);
+                while (running) {
+                    PGNotification[] notifications = pg.getNotifications(listenTimeoutMillis);
+                    if (notifications != null) deliver(notifications);
+                }
+            } catch (SQLException | RuntimeException e) {
+                if (!running) return;
+                log.warn("Order change listener lost its connection; resyncing in {} ms: {}", backoff, e.getMessage());
+                try {
+                    Thread.sleep(backoff);
+                } catch (InterruptedException ie) {
+                    return;
+                }
+                backoff = Math.min(backoff * 2, reconnectMaxMillis);
+            } finally {
+                listenConnection = null;
+            }
+        }
+    }
+
+    private XidSnapshot resync() {
+        XidSnapshot snapshot = ReplicaRouting.onPrimary(() -> snapshotTx.execute(s -> {
+            // First statement, so it fixes the snapshot the listeners' reads below will use
+            XidSnapshot taken = XidSnapshot.parse((String) entityManager
+                    .createNativeQuery("SELECT pg_current_snapshot()::text").getSingleResult());
+            listeners.forEach(OrderChangeListener::resync);
+            return taken;
+        }));
+        meterRegistry.counter("orders.changes.resyncs").increment();
+        return snapshot;
+    }
+
+    private void deliver(PGNotification[] notifications) {
+        List<String[]> lines = new ArrayList<>();
+        for (PGNotification n : notifications) {
+            String payload = n.getParameter();
+            int split = payload.indexOf('\n');
+            long xid = Long.parseLong(payload.substring(0, split));
+            if (baseline.covers(xid)) continue;
+            for (String line : payload.substring(split + 1).split("\n")) lines.add(line.split(";", -1));
+        }
+        if (lines.isEmpty()) return;
+
+        Set<Long> created = new HashSet<>();
+        for (String[] line : lines) {
+            if (line[0].equals("C")) created.add(Long.valueOf(line[1]));
+        }
+        Map<Long, OrderView> orders = created.isEmpty() ? Map.of() : load(created);
+
+        for (String[] line : lines) {
+            switch (line[0]) {
+                case "C" -> {
+                    OrderView current = orders.get(Long.valueOf(line[1]));
+                    // Archived already; nothing left to show for it
+                    if (current == null) continue;
+                    dispatch(OrderChange.created(asCreated(current, OrderStatus.valueOf(line[2]), longOrNull(line[3]))));
+                }
+                case "S" -> dispatch(OrderChange.statusChanged(Long.valueOf(line[1]), intOrNull(line[2]),
+                        OrderStatus.valueOf(line[3]), OrderStatus.valueOf(line[4]), longOrNull(line[5])));
+                case "K" -> dispatch(OrderChange.lineCompleted(Long.valueOf(line[1]), Long.valueOf(line[2])));
+                default -> log.warn("Ignoring unknown order change '{}'", String.join(";", line));
+            }
+        }
+    }
+
+    private Map<Long, OrderView> load(Set<Long> ids) {
+        // The NOTIFY arrives once the writer committed on the primary; a replica may still be behind
+        return ReplicaRouting.onPrimary(() -> readTx.execute(s -> {
+            Map<Long, OrderView> byId = new HashMap<>();
+            for (OrderView v : orderRepository.findViewsByIdIn(ids)) byId.put(v.getId(), v);
+            for (OrderItemView item : orderRepository.findItemViewsByOrderIdIn(ids)) {
+                OrderView order = byId.get(item.getOrderId());
+                if (order != null) order.getItems().add(item);
+            }
+            return byId;
+        }));
+    }
+
+    private void dispatch(OrderChange change) {
+        for (OrderChangeListener l : listeners) {
+            try {
+                l.onChange(change);
+            } catch (RuntimeException e) {
+                log.error("{} failed to apply {} for order {}", l.getClass().getSimpleName(),
+                        change.getType(), change.getOrderId(), e);
+            }
+        }
+    }
+
+    private static OrderView asCreated(OrderView current, OrderStatus status, Long version) {
+        OrderView view = new OrderView(current.getId(), current.getTableNumber(), current.getEmail(), current.getPhone(),
+                current.getTotalAmount(), status, version, current.getCreatedAt());
+        view.getItems().addAll(current.getItems());
+        return view;
+    }
+
+    private static String text(Object value) {
+        return value == null ? "" : value.toString();
+    }
+
+    private static Long longOrNull(String value) {
+        return value.isEmpty() ? null : Long.valueOf(value);
+    }
+
+    private static Integer intOrNull(String value) {
+        return value.isEmpty() ? null : Integer.valueOf(value);
+    }
+
+    private static void closeQuietly(Connection c) {
+        if (c == null) return;
+        try {
+            c.close();
+        } catch (SQLException ignored) {
+            // shutting down
+        }
+    }
+
+    /** A pg_current_snapshot() value: xmin:xmax:in-progress xids. */
+    private record XidSnapshot(long xmin, long xmax, Set<Long> inProgress) {
+
+        static XidSnapshot parse(String text) {
+            String[] parts = text.split(":", -1);
+            Set<Long> inProgress = new HashSet<>();
+            if (parts.length > 2 && !parts[2].isEmpty()) {
+                for (String xid : parts[2].split(",")) inProgress.add(Long.valueOf(xid));
+            }
+            return new XidSnapshot(Long.parseLong(parts[0]), Long.parseLong(parts[1]), inProgress);
+        }
+
+        /** True when the transaction had committed as far as this snapshot is concerned. */
+        boolean covers(long xid) {
+            return xid < xmin || (xid < xmax && !inProgress.contains(xid));
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.moonlight.moonlightbackend.service;
+
+import com.moonlight.moonlightbackend.event.OrderChange;
+
+/**
+ * Node-local state derived from orders that has to agree across nodes. {@link OrderChangeChannel}
+ * calls {@link #resync()} at startup and whenever changes may have been missed, inside a
+ * transaction whose snapshot becomes the baseline; every change committed after that snapshot is
+ * then passed to {@link #onChange} once, in commit order. Resync never runs concurrently with
+ * onChange, but onChange may be called from several threads when the channel is disabled.
+ */
+public interface OrderChangeListener {
+
+    /** Rebuilds from the database, discarding whatever was held before. */
+    void resync();
+
+    void onChange(OrderChange change);
+}
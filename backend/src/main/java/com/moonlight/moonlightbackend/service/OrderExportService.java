@@ -0,0 +1,259 @@
+package com.moonlight.moonlightbackend.service;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Locale;
+
+/**
+ * Writes orders with their items for a created_at range straight from a forward-only
+ * JDBC cursor to the caller's stream. Rows are fetched {@code fetch-size} at a time
+ * and only the order currently being written is held, so memory does not grow with
+ * the size of the range.
+ */
+@Service
+public class OrderExportService {
+
+    private static final Logger log = LoggerFactory.getLogger(OrderExportService.class);
+
+    // Items are joined on the full partition key so each orders partition pairs with its order_items partition
+    private static final String EXPORT_SQL = """
+            SELECT o.id, o.created_at, o.table_number, o.status, o.email, o.phone, o.total_amount,
+                   oi.id, oi.menu_item_id, oi.name, oi.unit_price, oi.quantity
+              FROM orders o
+              LEFT JOIN order_items oi ON oi.order_id = o.id AND oi.order_created_at = o.created_at
+             WHERE o.created_at >= ? AND o.created_at < ?
+             ORDER BY o.created_at, o.id, oi.id
+            """;
+
+    private static final String CSV_HEADER = "order_id,created_at,table_number,status,email,phone,total_amount," +
+            "item_id,menu_item_id,item_name,unit_price,quantity\r\n";
+
+    public enum Format {
+        CSV("text/csv", "csv"),
+        NDJSON("application/x-ndjson", "ndjson");
+
+        private final String contentType;
+        private final String extension;
+
+        Format(String contentType, String extension) {
+            this.contentType = contentType;
+            this.extension = extension;
+        }
+
+        public String getContentType() { return contentType; }
+        public String getExtension() { return extension; }
+
+        public static Format parse(String value) {
+            if (value == null || value.isBlank()) return CSV;
+            try {
+                return valueOf(value.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Unknown export format: " + value);
+            }
+        }
+    }
+
+    private final JdbcTemplate jdbc;
+    private final TransactionTemplate readTx;
+    private final JsonFactory jsonFactory;
+
+    public OrderExportService(DataSource dataSource, PlatformTransactionManager transactionManager,
+                              ObjectMapper objectMapper,
+                              @Value("${app.orders.export.fetch-size:1000}") int fetchSize) {
+        this.jdbc = new JdbcTemplate(dataSource);
+        this.jdbc.setFetchSize(fetchSize);
+        // PostgreSQL only uses a server-side cursor inside a transaction
+        this.readTx = new TransactionTemplate(transactionManager);
+        this.readTx.setReadOnly(true);
+        this.jsonFactory = objectMapper.getFactory();
+    }
+
+    public void checkRange(Instant from, Instant to) {
+        if (from == null || to == null) throw new IllegalArgumentException("Both from and to are required");
+        if (!from.isBefore(to)) throw new IllegalArgumentException("from must be before to");
+    }
+
+    /** Streams the range to {@code out}; returns the number of orders written. */
+    public long export(Instant from, Instant to, Format format, OutputStream out) throws IOException {
+        checkRange(from, to);
+        long started = System.nanoTime();
+        RowSink sink = format == Format.CSV ? new CsvSink(out) : new NdjsonSink(jsonFactory.createGenerator(out, JsonEncoding.UTF8));
+        try {
+            readTx.executeWithoutResult(s -> jdbc.query(EXPORT_SQL, rs -> {
+                try {
+                    sink.row(rs);
+                } catch (IOException e) {
+                    // Usually the client went away; abandon the cursor
+                    throw new UncheckedIOException(e);
+                }
+            }, Timestamp.from(from), Timestamp.from(to)));
+            sink.finish();
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        log.info("Exported {} orders ({}) for [{}, {}) in {} ms", sink.orders(), format, from, to,
+                Duration.ofNanos(System.nanoTime() - started).toMillis());
+        return sink.orders();
+    }
+
+    private abstract static class RowSink {
+        private long currentOrder = -1;
+        private long orders;
+
+        void row(ResultSet rs) throws SQLException, IOException {
+            long orderId = rs.getLong(1);
+            if (orderId != currentOrder) {
+                if (currentOrder != -1) endOrder();
+                currentOrder = orderId;
+                orders++;
+                startOrder(rs);
+            }
+            rs.getLong(8);
+            if (!rs.wasNull()) item(rs);
+        }
+
+        long orders() { return orders; }
+
+        void finish() throws IOException {
+            if (currentOrder != -1) endOrder();
+            flush();
+        }
+
+        abstract void startOrder(ResultSet rs) throws SQLException, IOException;
+        abstract void item(ResultSet rs) throws SQLException, IOException;
+        abstract void endOrder() throws IOException;
+        abstract void flush() throws IOException;
+    }
+
+    /** One line per item, order columns repeated; an order without items gets one line with empty item columns. */
+    private static final class CsvSink extends RowSink {
+        private final Writer w;
+        private final StringBuilder order = new StringBuilder(128);
+        private boolean hasItems;
+
+        CsvSink(OutputStream out) throws IOException {
+            this.w = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 64 * 1024);
+            w.write(CSV_HEADER);
+        }
+
+        @Override
+        void startOrder(ResultSet rs) throws SQLException {
+            order.setLength(0);
+            order.append(rs.getLong(1)).append(',')
+                    .append(rs.getTimestamp(2).toInstant()).append(',')
+                    .append(rs.getInt(3)).append(',');
+            appendCsv(order, rs.getString(4)).append(',');
+            appendCsv(order, rs.getString(5)).append(',');
+            appendCsv(order, rs.getString(6)).append(',');
+            order.append(plain(rs.getBigDecimal(7))).append(',');
+            hasItems = false;
+        }
+
+        @Override
+        void item(ResultSet rs) throws SQLException, IOException {
+            hasItems = true;
+            StringBuilder line = new StringBuilder(order);
+            line.append(rs.getLong(8)).append(',');
+            long menuItemId = rs.getLong(9);
+            if (!rs.wasNull()) line.append(menuItemId);
+            line.append(',');
+            appendCsv(line, rs.getString(10)).append(',');
+            line.append(plain(rs.getBigDecimal(11))).append(',').append(rs.getInt(12)).append("\r\n");
+            w.append(line);
+        }
+
+        @Override
+        void endOrder() throws IOException {
+            if (!hasItems) w.append(order).append(",,,,\r\n");
+        }
+
+        @Override
+        void flush() throws IOException {
+            w.flush();
+        }
+
+        private static StringBuilder appendCsv(StringBuilder sb, String value) {
+            if (value == null) return sb;
+            boolean quote = value.indexOf(',') >= 0 || value.indexOf('"') >= 0
+                    || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0;
+            if (!quote) return sb.append(value);
+            return sb.append('"').append(value.replace("\"", "\"\"")).append('"');
+        }
+    }
+
+    /** One JSON object per order per line, items nested. */
+    private static final class NdjsonSink extends RowSink {
+        private final JsonGenerator g;
+
+        NdjsonSink(JsonGenerator g) {
+            // Lines are ended explicitly; without this Jackson also puts a space between root values
+            this.g = g.setRootValueSeparator(null);
+        }
+
+        @Override
+        void startOrder(ResultSet rs) throws SQLException, IOException {
+            g.writeStartObject();
+            g.writeNumberField("id", rs.getLong(1));
+            g.writeStringField("createdAt", rs.getTimestamp(2).toInstant().toString());
+            g.writeNumberField("tableNumber", rs.getInt(3));
+            g.writeStringField("status", rs.getString(4));
+            g.writeStringField("email", rs.getString(5));
+            g.writeStringField("phone", rs.getString(6));
+            g.writeNumberField("totalAmount", rs.getBigDecimal(7));
+            g.writeArrayFieldStart("items");
+        }
+
+        @Override
+        void item(ResultSet rs) throws SQLException, IOException {
+            g.writeStartObject();
+            g.writeNumberField("id", rs.getLong(8));
+            long menuItemId = rs.getLong(9);
+            if (rs.wasNull()) g.writeNullField("menuItemId");
+            else g.writeNumberField("menuItemId", menuItemId);
+            g.writeStringField("name", rs.getString(10));
+            g.writeNumberField("unitPrice", rs.getBigDecimal(11));
+            g.writeNumberField("quantity", rs.getInt(12));
+            g.writeEndObject();
+        }
+
+        @Override
+        void endOrder() throws IOException {
+            g.writeEndArray();
+            g.writeEndObject();
+            g.writeRaw('\n');
+        }
+
+        @Override
+        void flush() throws IOException {
+            g.flush();
+        }
+    }
+
+    private static String plain(BigDecimal value) {
+        return value == null ? "" : value.toPlainString();
+    }
+}
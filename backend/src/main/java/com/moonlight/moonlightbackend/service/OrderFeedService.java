@@ -0,0 +1,243 @@
+package com.moonlight.moonlightbackend.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.moonlight.moonlightbackend.event.OrderChange;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Pushes committed order changes to kitchen screens over SSE. Changes come from
+ * {@link OrderChangeChannel}, so a screen sees every node's orders. Each subscriber
+ * gets a bounded queue drained on a small shared pool; a subscriber whose
+ * queue overflows is dropped and can resume from the replay buffer using
+ * Last-Event-ID when it reconnects. Ids are {@code <epoch>-<n>} with a random
+ * per-process epoch, so an id from another node or an earlier run gets a reset
+ * rather than a replay of unrelated events.
+ */
+@Service
+public class OrderFeedService implements OrderChangeListener {
+
+    private static final FeedEvent HEARTBEAT = new FeedEvent(0, "heartbeat", null);
+
+    private final String epoch = UUID.randomUUID().toString().substring(0, 8);
+    private final ObjectMapper objectMapper;
+    private final int bufferSize;
+    private final int replaySize;
+    private final long timeoutMillis;
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    // Guards event numbering, the replay buffer and fan-out so every subscriber sees ids in order
+    private final Deque<FeedEvent> replay = new ArrayDeque<>();
+    private long lastId;
+    private final ExecutorService delivery;
+
+    public OrderFeedService(ObjectMapper objectMapper,
+                            @Value("${app.orders.stream.buffer-size:256}") int bufferSize,
+                            @Value("${app.orders.stream.replay-size:1024}") int replaySize,
+                            @Value("${app.orders.stream.timeout-ms:1800000}") long timeoutMillis,
+                            @Value("${app.orders.stream.delivery-threads:4}") int deliveryThreads) {
+        this.objectMapper = objectMapper;
+        this.bufferSize = bufferSize;
+        this.replaySize = replaySize;
+        this.timeoutMillis = timeoutMillis;
+        AtomicInteger threadIds = new AtomicInteger();
+        this.delivery = Executors.newFixedThreadPool(deliveryThreads, r -> {
+            Thread t = new Thread(r, "order-feed-" + threadIds.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    public SseEmitter subscribe(String lastEventId) {
+        Subscriber sub = new Subscriber(new SseEmitter(timeoutMillis), bufferSize);
+        sub.emitter.onCompletion(() -> close(sub));
+        sub.emitter.onTimeout(() -> close(sub));
+        sub.emitter.onError(e -> close(sub));
+
+        boolean resuming = lastEventId != null && !lastEventId.isBlank();
+        Long resumeFrom = parseId(lastEventId);
+        synchronized (replay) {
+            if (resuming && (resumeFrom == null || resumeFrom != lastId)) {
+                FeedEvent oldest = replay.peekFirst();
+                if (resumeFrom == null || resumeFrom > lastId || oldest == null || oldest.id > resumeFrom + 1
+                        || lastId - resumeFrom > bufferSize) {
+                    // Missed events are gone (another node or run, evicted from the buffer) or do not fit the queue; reload
+                    sub.queue.offer(new FeedEvent(lastId, "reset", "{}"));
+                } else {
+                    for (FeedEvent ev : replay) {
+                        if (ev.id > resumeFrom) sub.queue.offer(ev);
+                    }
+                }
+            }
+            subscribers.add(sub);
+        }
+        scheduleDrain(sub);
+        return sub.emitter;
+    }
+
+    public int subscriberCount() {
+        return subscribers.size();
+    }
+
+    /**
+     * Changes may have been missed (the channel reconnected), so screens must reload; the replay
+     * buffer is dropped so no one resumes across the gap.
+     */
+    @Override
+    public void resync() {
+        synchronized (replay) {
+            if (lastId == 0) return;
+            replay.clear();
+        }
+        publish("reset", Map.of());
+    }
+
+    @Override
+    public void onChange(OrderChange change) {
+        if (change.getType() == OrderChange.Type.CREATED) {
+            publish("order-created", change.getOrder());
+            return;
+        }
+        if (change.getType() != OrderChange.Type.STATUS_CHANGED) return;
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("id", change.getOrderId());
+        payload.put("tableNumber", change.getTableNumber());
+        payload.put("status", change.getStatus());
+        payload.put("previousStatus", change.getPreviousStatus());
+        payload.put("version", change.getVersion());
+        publish("order-status", payload);
+    }
+
+    @Scheduled(fixedDelayString = "${app.orders.stream.heartbeat-ms:15000}")
+    public void heartbeat() {
+        for (Subscriber sub : subscribers) {
+            // A subscriber that cannot take a heartbeat is already backed up; the next event evicts it
+            if (sub.queue.offer(HEARTBEAT)) scheduleDrain(sub);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        subscribers.forEach(this::evict);
+        delivery.shutdownNow();
+    }
+
+    private void publish(String type, Object payload) {
+        String json;
+        try {
+            json = objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unable to serialize order event", e);
+        }
+
+        synchronized (replay) {
+            FeedEvent ev = new FeedEvent(++lastId, type, json);
+            replay.addLast(ev);
+            if (replay.size() > replaySize) replay.removeFirst();
+            for (Subscriber sub : subscribers) {
+                if (!sub.queue.offer(ev)) evict(sub);
+            }
+        }
+        subscribers.forEach(this::scheduleDrain);
+    }
+
+    private void scheduleDrain(Subscriber sub) {
+        if (!sub.closed.get() && !sub.queue.isEmpty() && sub.draining.compareAndSet(false, true)) {
+            delivery.execute(() -> drain(sub));
+        }
+    }
+
+    private void drain(Subscriber sub) {
+        try {
+            FeedEvent ev;
+            while (!sub.closed.get() && (ev = sub.queue.poll()) != null) {
+                if (ev == HEARTBEAT) {
+                    sub.emitter.send(SseEmitter.event().comment("keep-alive"));
+                } else {
+                    sub.emitter.send(SseEmitter.event()
+                            .id(epoch + "-" + ev.id)
+                            .name(ev.type)
+                            .data(ev.json, MediaType.APPLICATION_JSON));
+                }
+            }
+        } catch (IOException | IllegalStateException e) {
+            evict(sub);
+        } finally {
+            sub.draining.set(false);
+        }
+        scheduleDrain(sub);
+    }
+
+    private void evict(Subscriber sub) {
+        if (close(sub)) {
+            try {
+                sub.emitter.complete();
+            } catch (IllegalStateException ignored) {
+                // already completed by the container
+            }
+        }
+    }
+
+    private boolean close(Subscriber sub) {
+        subscribers.remove(sub);
+        if (!sub.closed.compareAndSet(false, true)) return false;
+        sub.queue.clear();
+        return true;
+    }
+
+    /** Sequence number of an id issued by this process, otherwise null. */
+    private Long parseId(String value) {
+        if (value == null) return null;
+        String id = value.trim();
+        if (!id.startsWith(epoch + "-")) return null;
+        try {
+            return Long.parseLong(id.substring(epoch.length() + 1));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static final class FeedEvent {
+        final long id;
+        final String type;
+        final String json;
+
+        FeedEvent(long id, String type, String json) {
+            this.id = id;
+            this.type = type;
+            this.json = json;
+        }
+    }
+
+    private static final class Subscriber {
+        final SseEmitter emitter;
+        final BlockingQueue<FeedEvent> queue;
+        final AtomicBoolean draining = new AtomicBoolean();
+        final AtomicBoolean closed = new AtomicBoolean();
+
+        Subscriber(SseEmitter emitter, int capacity) {
+            this.emitter = emitter;
+            this.queue = new ArrayBlockingQueue<>(capacity);
+        }
+    }
+}
@@ -0,0 +1,209 @@
+package com.moonlight.moonlightbackend.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.moonlight.moonlightbackend.config.ReplicaRouting;
+import com.moonlight.moonlightbackend.dto.CreateOrderRequest;
+import com.moonlight.moonlightbackend.dto.OrderView;
+import com.moonlight.moonlightbackend.model.IdempotencyRecord;
+import com.moonlight.moonlightbackend.repository.IdempotencyRecordRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Deduplicates order submissions carrying an Idempotency-Key. Recent keys live
+ * in a bounded in-memory map (concurrent duplicates wait on the same future);
+ * the idempotency_keys table, written in the order's transaction, lets other
+ * nodes and later retries find the original order. A key reused with a different
+ * request body is rejected rather than answered with the first order.
+ */
+@Service
+public class OrderIdempotencyService {
+
+    public static final int MAX_KEY_LENGTH = 128;
+    // Leaves room for the ":<index>" a batch appends per order
+    public static final int MAX_BATCH_KEY_LENGTH = MAX_KEY_LENGTH - 10;
+
+    private final OrderService orderService;
+    private final IdempotencyRecordRepository idempotencyRecordRepository;
+    private final ObjectMapper objectMapper;
+    private final Duration ttl;
+    private final Duration retention;
+    private final int maxEntries;
+    private final long waitMillis;
+    private final long retryAfterSeconds;
+
+    private final ConcurrentHashMap<String, Entry> entries = new ConcurrentHashMap<>();
+    // Insertion order equals expiry order since every entry shares the same TTL
+    private final ConcurrentLinkedQueue<Entry> insertionOrder = new ConcurrentLinkedQueue<>();
+
+    public OrderIdempotencyService(OrderService orderService,
+                                   IdempotencyRecordRepository idempotencyRecordRepository,
+                                   ObjectMapper objectMapper,
+                                   @Value("${app.orders.idempotency.ttl-minutes:10}") long ttlMinutes,
+                                   @Value("${app.orders.idempotency.retention-hours:24}") long retentionHours,
+                                   @Value("${app.orders.idempotency.max-entries:10000}") int maxEntries,
+                                   @Value("${app.orders.idempotency.wait-ms:30000}") long waitMillis,
+                                   @Value("${app.orders.idempotency.retry-after-seconds:1}") long retryAfterSeconds) {
+        this.orderService = orderService;
+        this.idempotencyRecordRepository = idempotencyRecordRepository;
+        this.objectMapper = objectMapper;
+        this.ttl = Duration.ofMinutes(ttlMinutes);
+        this.retention = Duration.ofHours(retentionHours);
+        this.maxEntries = maxEntries;
+        this.waitMillis = waitMillis;
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public OrderView createOrder(String key, CreateOrderRequest req) {
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            throw new IllegalArgumentException("Idempotency-Key must be 1-" + MAX_KEY_LENGTH + " characters");
+        }
+
+        String hash = hash(req);
+        Instant now = Instant.now();
+        Entry mine = new Entry(key, hash, now.plus(ttl));
+        while (true) {
+            Entry existing = entries.putIfAbsent(key, mine);
+            if (existing == null) break;
+            if (!existing.isExpired(now)) {
+                if (!existing.requestHash.equals(hash)) throw new IdempotencyKeyMismatchException();
+                return await(existing);
+            }
+            entries.remove(key, existing);
+        }
+        insertionOrder.add(mine);
+        trim(now);
+
+        try {
+            OrderView order = execute(key, hash, req);
+            mine.result.complete(order);
+            return order;
+        } catch (RuntimeException e) {
+            // Failed attempts are not remembered so the client can retry with the same key
+            entries.remove(key, mine);
+            mine.result.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    /** Per-order key for entry {@code index} of a batch sent with {@code batchKey}. */
+    public static String batchOrderKey(String batchKey, int index) {
+        return batchKey + ":" + index;
+    }
+
+    public String requestHash(CreateOrderRequest req) {
+        return hash(req);
+    }
+
+    /** Keys already stored by an earlier attempt, on this node or another. */
+    public Map<String, IdempotencyRecord> findRecords(Collection<String> keys) {
+        Map<String, IdempotencyRecord> found = new HashMap<>();
+        ReplicaRouting.onPrimary(() -> idempotencyRecordRepository.findAllById(keys))
+                .forEach(r -> found.put(r.getIdempotencyKey(), r));
+        return found;
+    }
+
+    /** False when the key was first used with a different request. */
+    public static boolean matches(IdempotencyRecord record, String hash) {
+        // Keys stored before hashes were recorded cannot be checked
+        return record.getRequestHash() == null || record.getRequestHash().equals(hash);
+    }
+
+    @Scheduled(fixedDelayString = "${app.orders.idempotency.cleanup-ms:3600000}")
+    @Transactional
+    public void purgeExpired() {
+        idempotencyRecordRepository.deleteOlderThan(Instant.now().minus(retention));
+    }
+
+    // A retry may arrive right after the first attempt committed on another node, before a replica has it
+    private OrderView execute(String key, String hash, CreateOrderRequest req) {
+        return ReplicaRouting.onPrimary(() -> {
+            Optional<IdempotencyRecord> stored = idempotencyRecordRepository.findById(key);
+            if (stored.isPresent()) return original(stored.get(), hash);
+            try {
+                return OrderView.from(orderService.createOrder(req, key, hash));
+            } catch (DataIntegrityViolationException e) {
+                // Another node committed the same key first
+                return idempotencyRecordRepository.findById(key)
+                        .map(r -> original(r, hash))
+                        .orElseThrow(() -> e);
+            }
+        });
+    }
+
+    private OrderView original(IdempotencyRecord record, String hash) {
+        if (!matches(record, hash)) throw new IdempotencyKeyMismatchException();
+        return orderService.getOrder(record.getOrderId());
+    }
+
+    private String hash(CreateOrderRequest req) {
+        try {
+            // Hash the bound request, so formatting and unknown fields do not count as a different body
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(objectMapper.writeValueAsBytes(req));
+            return HexFormat.of().formatHex(digest);
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Unable to hash order request", e);
+        }
+    }
+
+    private OrderView await(Entry entry) {
+        try {
+            return entry.result.get(waitMillis, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException re) throw re;
+            throw new IllegalStateException(e.getCause());
+        } catch (TimeoutException e) {
+            // The first attempt is still running; the client retries and then gets its outcome
+            throw new IdempotencyKeyInProgressException(retryAfterSeconds);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IdempotencyKeyInProgressException(retryAfterSeconds);
+        }
+    }
+
+    private void trim(Instant now) {
+        Entry head;
+        // In-flight entries stay so concurrent duplicates keep waiting on them; the map may briefly exceed max-entries
+        while ((head = insertionOrder.peek()) != null && head.result.isDone()
+                && (head.isExpired(now) || entries.size() > maxEntries)) {
+            if (insertionOrder.remove(head)) entries.remove(head.key, head);
+        }
+    }
+
+    private static final class Entry {
+        final String key;
+        final String requestHash;
+        final Instant expiresAt;
+        final CompletableFuture<OrderView> result = new CompletableFuture<>();
+
+        Entry(String key, String requestHash, Instant expiresAt) {
+            this.key = key;
+            this.requestHash = requestHash;
+            this.expiresAt = expiresAt;
+        }
+
+        boolean isExpired(Instant now) {
+            return now.isAfter(expiresAt);
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.moonlight.moonlightbackend.service;
+
+import com.moonlight.moonlightbackend.event.OrderCreatedEvent;
+import com.moonlight.moonlightbackend.event.OrderStatusChangedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Order throughput counters, fed from committed order events so single, idempotent
+ * and batch submissions are all counted once.
+ */
+@Component
+public class OrderMetrics {
+
+    private final MeterRegistry registry;
+    private final Counter ordersPlaced;
+    private final DistributionSummary orderLines;
+
+    public OrderMetrics(MeterRegistry registry) {
+        this.registry = registry;
+        // Not "orders.created": Prometheus reserves the _created suffix
+        this.ordersPlaced = Counter.builder("orders.placed")
+                .description("Orders committed")
+                .register(registry);
+        this.orderLines = DistributionSummary.builder("orders.lines")
+                .description("Lines per committed order")
+                .register(registry);
+    }
+
+    @TransactionalEventListener
+    public void onOrderCreated(OrderCreatedEvent event) {
+        ordersPlaced.increment();
+        orderLines.record(event.getOrder().getItems().size());
+    }
+
+    @TransactionalEventListener
+    public void onOrderStatusChanged(OrderStatusChangedEvent event) {
+        registry.counter("orders.status.changes", "status", event.getStatus().name()).increment();
+    }
+}
@@ -0,0 +1,93 @@
+package com.moonlight.moonlightbackend.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.moonlight.moonlightbackend.dto.OrderView;
+import com.moonlight.moonlightbackend.event.OrderCreatedEvent;
+import com.moonlight.moonlightbackend.event.OrderStatusChangedEvent;
+import com.moonlight.moonlightbackend.model.OutboxEvent;
+import com.moonlight.moonlightbackend.repository.OutboxEventRepository;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Turns order events into outbox rows inside the order's own transaction (before
+ * commit), one row per interested handler, so single, batch and status writes all
+ * enqueue their side effects atomically without touching checkout code.
+ */
+@Component
+public class OrderOutboxWriter {
+
+    public static final String ORDER_CREATED = "order.created";
+    public static final String ORDER_STATUS_CHANGED = "order.status_changed";
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final List<OutboxHandler> handlers;
+    private final OutboxDispatcher dispatcher;
+    private final ObjectMapper objectMapper;
+
+    public OrderOutboxWriter(OutboxEventRepository outboxEventRepository, List<OutboxHandler> handlers,
+                             OutboxDispatcher dispatcher, ObjectMapper objectMapper) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.handlers = handlers;
+        this.dispatcher = dispatcher;
+        this.objectMapper = objectMapper;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void onOrderCreated(OrderCreatedEvent event) {
+        enqueue(ORDER_CREATED, event.getOrder().getId(), OrderView.from(event.getOrder()));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void onOrderStatusChanged(OrderStatusChangedEvent event) {
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("id", event.getOrderId());
+        payload.put("tableNumber", event.getTableNumber());
+        payload.put("status", event.getStatus());
+        payload.put("previousStatus", event.getPreviousStatus());
+        payload.put("version", event.getVersion());
+        enqueue(ORDER_STATUS_CHANGED, event.getOrderId(), payload);
+    }
+
+    // Rows are committed by now; start draining instead of waiting for the next poll
+    @TransactionalEventListener
+    public void afterOrderCreated(OrderCreatedEvent event) {
+        dispatcher.wakeUp();
+    }
+
+    @TransactionalEventListener
+    public void afterOrderStatusChanged(OrderStatusChangedEvent event) {
+        dispatcher.wakeUp();
+    }
+
+    private void enqueue(String type, Long aggregateId, Object payload) {
+        List<OutboxEvent> rows = new ArrayList<>(handlers.size());
+        String json = null;
+        for (OutboxHandler handler : handlers) {
+            if (!handler.supports(type)) continue;
+            if (json == null) json = toJson(payload);
+            OutboxEvent row = new OutboxEvent();
+            row.setEventType(type);
+            row.setAggregateId(aggregateId);
+            row.setHandler(handler.name());
+            row.setPayload(json);
+            rows.add(row);
+        }
+        if (!rows.isEmpty()) outboxEventRepository.saveAll(rows);
+    }
+
+    private String toJson(Object payload) {
+        try {
+            return objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unable to serialize outbox payload", e);
+        }
+    }
+}
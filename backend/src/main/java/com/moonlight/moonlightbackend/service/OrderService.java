@@ -2,32 +2,99 @@ package com.moonlight.moonlightbackend.service;
 
 import com.moonlight.moonlightbackend.dto.CreateOrderRequest;
 import com.moonlight.moonlightbackend.dto.CreateOrderRequestItem;
+import com.moonlight.moonlightbackend.dto.MenuItemView;
+import com.moonlight.moonlightbackend.dto.OrderItemView;
+import com.moonlight.moonlightbackend.dto.OrderPage;
+import com.moonlight.moonlightbackend.dto.OrderStatusResponse;
+import com.moonlight.moonlightbackend.dto.OrderView;
+import com.moonlight.moonlightbackend.event.OrderCreatedEvent;
+import com.moonlight.moonlightbackend.event.OrderStatusChangedEvent;
 import com.moonlight.moonlightbackend.model.MenuItem;
 import com.moonlight.moonlightbackend.model.Order;
 import com.moonlight.moonlightbackend.model.OrderItem;
+import com.moonlight.moonlightbackend.model.OrderStatus;
+import com.moonlight.moonlightbackend.repository.IdempotencyRecordRepository;
 import com.moonlight.moonlightbackend.repository.MenuItemRepository;
 import com.moonlight.moonlightbackend.repository.OrderRepository;
+import com.moonlight.moonlightbackend.repository.OrderStatusView;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Base64;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Function;
 
 @Service
 public class OrderService {
 
+    public static final int MAX_PAGE_SIZE = 200;
+
     private final OrderRepository orderRepository;
     private final MenuItemRepository menuItemRepository;
+    private final IdempotencyRecordRepository idempotencyRecordRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Timer menuLookupTimer;
+    private final Timer pricingTimer;
+    private final Timer persistTimer;
 
-    public OrderService(OrderRepository orderRepository, MenuItemRepository menuItemRepository) {
+    public OrderService(OrderRepository orderRepository, MenuItemRepository menuItemRepository,
+                        IdempotencyRecordRepository idempotencyRecordRepository,
+                        ApplicationEventPublisher eventPublisher, MeterRegistry meterRegistry) {
         this.orderRepository = orderRepository;
         this.menuItemRepository = menuItemRepository;
+        this.idempotencyRecordRepository = idempotencyRecordRepository;
+        this.eventPublisher = eventPublisher;
+        this.menuLookupTimer = phaseTimer(meterRegistry, "menu_lookup");
+        this.pricingTimer = phaseTimer(meterRegistry, "pricing");
+        this.persistTimer = phaseTimer(meterRegistry, "persist");
     }
 
     @Transactional
     public Order createOrder(CreateOrderRequest req) {
+        return createOrder(req, null, null);
+    }
+
+    @Transactional
+    public Order createOrder(CreateOrderRequest req, String idempotencyKey, String requestHash) {
+        if (req == null || req.getItems() == null || req.getItems().isEmpty()) {
+            throw new IllegalArgumentException("Order must contain at least one item");
+        }
+
+        Map<Long, MenuItemView> byId = menuLookupTimer.record(() -> {
+            List<Long> ids = req.getItems().stream().map(CreateOrderRequestItem::getMenuItemId).toList();
+            Map<Long, MenuItemView> found = new HashMap<>();
+            for (MenuItem mi : menuItemRepository.findAllById(ids)) found.put(mi.getId(), MenuItemView.from(mi));
+            return found;
+        });
+
+        Order order = pricingTimer.record(() -> buildOrder(req, byId::get));
+        Order saved = persistTimer.record(() -> {
+            // Flush here so the batched INSERTs are timed as persist rather than folded into commit
+            Order o = orderRepository.saveAndFlush(order);
+            if (idempotencyKey != null) {
+                idempotencyRecordRepository.insert(idempotencyKey, o.getId(), o.getCreatedAt(), requestHash);
+            }
+            return o;
+        });
+        eventPublisher.publishEvent(new OrderCreatedEvent(saved));
+        return saved;
+    }
+
+    /**
+     * Validates and prices a request against the given menu lookup without touching the database.
+     */
+    public Order buildOrder(CreateOrderRequest req, Function<Long, MenuItemView> menu) {
         if (req == null || req.getItems() == null || req.getItems().isEmpty()) {
             throw new IllegalArgumentException("Order must contain at least one item");
         }
@@ -35,11 +102,6 @@ public class OrderService {
             throw new IllegalArgumentException("Table number is required");
         }
 
-        List<Long> ids = req.getItems().stream().map(CreateOrderRequestItem::getMenuItemId).toList();
-        List<MenuItem> menuItems = menuItemRepository.findAllById(ids);
-        Map<Long, MenuItem> byId = new HashMap<>();
-        for (MenuItem mi : menuItems) byId.put(mi.getId(), mi);
-
         Order order = new Order();
         order.setTableNumber(req.getTableNumber());
         order.setEmail(req.getEmail());
@@ -47,7 +109,10 @@ public class OrderService {
 
         BigDecimal total = BigDecimal.ZERO;
         for (CreateOrderRequestItem it : req.getItems()) {
-            MenuItem mi = byId.get(it.getMenuItemId());
+            if (it == null || it.getQuantity() == null || it.getQuantity() < 1) {
+                throw new IllegalArgumentException("Item quantity must be at least 1");
+            }
+            MenuItemView mi = it.getMenuItemId() == null ? null : menu.apply(it.getMenuItemId());
             if (mi == null || Boolean.FALSE.equals(mi.getActive())) {
                 throw new IllegalArgumentException("Menu item not available: " + it.getMenuItemId());
             }
@@ -62,14 +127,96 @@ public class OrderService {
             order.addItem(oi);
         }
         order.setTotalAmount(total);
-        order.setStatus("PENDING");
-
-        return orderRepository.save(order);
+        order.setStatus(OrderStatus.PENDING);
+        return order;
     }
 
     @Transactional(readOnly = true)
-    public Order getOrder(Long id) {
-        return orderRepository.findById(id)
+    public OrderView getOrder(Long id) {
+        List<OrderView> views = loadViews(List.of(id));
+        if (views.isEmpty()) throw new IllegalArgumentException("Order not found: " + id);
+        return views.get(0);
+    }
+
+    /**
+     * Applies a lifecycle transition with a single conditional UPDATE; the order
+     * entity and its items are never loaded.
+     */
+    @Transactional
+    public OrderStatusResponse updateOrderStatus(Long id, String newStatus, Long expectedVersion) {
+        OrderStatus next = OrderStatus.parse(newStatus);
+        OrderStatusView current = orderRepository.findStatusById(id)
                 .orElseThrow(() -> new IllegalArgumentException("Order not found: " + id));
+        OrderStatus previous = current.getStatus();
+        long version = expectedVersion != null ? expectedVersion : current.getVersion();
+
+        if (previous == next && version == current.getVersion()) {
+            return new OrderStatusResponse(id, current.getTableNumber(), next, previous, version);
+        }
+        if (!previous.canTransitionTo(next)) {
+            throw new IllegalStateException("Cannot change order " + id + " from " + previous + " to " + next);
+        }
+        if (orderRepository.transitionStatus(id, previous, next, version) == 0) {
+            throw new OptimisticLockingFailureException("Order " + id + " was modified concurrently");
+        }
+
+        eventPublisher.publishEvent(new OrderStatusChangedEvent(id, current.getTableNumber(), previous, next, version + 1));
+        return new OrderStatusResponse(id, current.getTableNumber(), next, previous, version + 1);
+    }
+
+    @Transactional(readOnly = true)
+    public OrderPage listOrders(String status, Integer tableNumber, Instant from, Instant to, String cursor, int limit) {
+        int size = Math.min(Math.max(limit, 1), MAX_PAGE_SIZE);
+        OrderStatus statusFilter = status == null || status.isBlank() ? null : OrderStatus.parse(status);
+
+        Instant afterCreatedAt = null;
+        Long afterId = null;
+        if (cursor != null && !cursor.isBlank()) {
+            try {
+                String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\\|");
+                afterCreatedAt = Instant.parse(parts[0]);
+                afterId = Long.parseLong(parts[1]);
+            } catch (IllegalArgumentException | DateTimeParseException | ArrayIndexOutOfBoundsException e) {
+                throw new IllegalArgumentException("Invalid cursor: " + cursor);
+            }
+        }
+
+        // Fetch one extra id to learn whether another page exists
+        List<Long> ids = orderRepository.findPageIds(statusFilter, tableNumber, from, to, afterCreatedAt, afterId, size + 1);
+        boolean hasMore = ids.size() > size;
+        if (hasMore) ids = ids.subList(0, size);
+        if (ids.isEmpty()) return new OrderPage(List.of(), null);
+
+        List<OrderView> orders = loadViews(ids);
+        String nextCursor = null;
+        if (hasMore) {
+            OrderView last = orders.get(orders.size() - 1);
+            String raw = last.getCreatedAt() + "|" + last.getId();
+            nextCursor = Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+        }
+        return new OrderPage(orders, nextCursor);
+    }
+
+    // Two projection queries (orders, then their lines) instead of hydrating entities; keeps the ids' order
+    private List<OrderView> loadViews(List<Long> ids) {
+        Map<Long, OrderView> byId = new HashMap<>();
+        for (OrderView v : orderRepository.findViewsByIdIn(ids)) byId.put(v.getId(), v);
+        for (OrderItemView item : orderRepository.findItemViewsByOrderIdIn(ids)) {
+            OrderView owner = byId.get(item.getOrderId());
+            if (owner != null) owner.getItems().add(item);
+        }
+        List<OrderView> ordered = new ArrayList<>(byId.size());
+        for (Long id : ids) {
+            OrderView v = byId.get(id);
+            if (v != null) ordered.add(v);
+        }
+        return ordered;
+    }
+
+    private static Timer phaseTimer(MeterRegistry registry, String phase) {
+        return Timer.builder("orders.create.phase")
+                .description("Time spent in each phase of OrderService.createOrder")
+                .tag("phase", phase)
+                .register(registry);
     }
 }
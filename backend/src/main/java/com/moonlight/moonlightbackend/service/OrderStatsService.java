@@ -0,0 +1,124 @@
+package com.moonlight.moonlightbackend.service;
+
+import com.moonlight.moonlightbackend.dto.AdminStatsResponse;
+import com.moonlight.moonlightbackend.dto.OrderView;
+import com.moonlight.moonlightbackend.event.OrderChange;
+import com.moonlight.moonlightbackend.model.OrderDailySummary;
+import com.moonlight.moonlightbackend.model.OrderStatus;
+import com.moonlight.moonlightbackend.repository.OrderDailySummaryRepository;
+import com.moonlight.moonlightbackend.repository.OrderRepository;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Dashboard counters kept in memory. Rebuilt by {@link OrderChangeChannel} from an
+ * aggregate over live orders plus the daily summaries of archived ones, then maintained
+ * from the order changes committed on any node, so every node reports the same figures.
+ */
+@Service
+public class OrderStatsService implements OrderChangeListener {
+
+    // Matches the session zone the JDBC driver uses, so day buckets agree with the startup query
+    private static final ZoneId ZONE = ZoneId.systemDefault();
+
+    private final OrderRepository orderRepository;
+    private final OrderDailySummaryRepository summaryRepository;
+    private final MenuCache menuCache;
+
+    private long totalOrders;
+    private BigDecimal totalRevenue = BigDecimal.ZERO;
+    private final Map<String, Long> ordersByStatus = new HashMap<>();
+    private final TreeMap<LocalDate, BigDecimal> revenueByDay = new TreeMap<>();
+    // Not a monitor: resync() holds it across a JDBC query, which would pin a virtual thread
+    private final ReentrantLock lock = new ReentrantLock();
+
+    public OrderStatsService(OrderRepository orderRepository, OrderDailySummaryRepository summaryRepository,
+                             MenuCache menuCache) {
+        this.orderRepository = orderRepository;
+        this.summaryRepository = summaryRepository;
+        this.menuCache = menuCache;
+    }
+
+    @Override
+    public void resync() {
+        lock.lock();
+        try {
+            totalOrders = 0;
+            totalRevenue = BigDecimal.ZERO;
+            ordersByStatus.clear();
+            revenueByDay.clear();
+            for (Object[] row : orderRepository.aggregateByDayAndStatus()) {
+                LocalDate day = toLocalDate(row[0]);
+                String status = ((OrderStatus) row[1]).name();
+                long count = ((Number) row[2]).longValue();
+                BigDecimal revenue = row[3] != null ? (BigDecimal) row[3] : BigDecimal.ZERO;
+                add(day, status, count, revenue);
+            }
+            for (OrderDailySummary s : summaryRepository.findAll()) {
+                add(s.getBusinessDate(), s.getStatus().name(), s.getOrderCount(), s.getTotalAmount());
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void add(LocalDate day, String status, long count, BigDecimal revenue) {
+        totalOrders += count;
+        totalRevenue = totalRevenue.add(revenue);
+        ordersByStatus.merge(status, count, Long::sum);
+        revenueByDay.merge(day, revenue, BigDecimal::add);
+    }
+
+    @Override
+    public void onChange(OrderChange change) {
+        lock.lock();
+        try {
+            if (change.getType() == OrderChange.Type.CREATED) {
+                OrderView order = change.getOrder();
+                totalOrders++;
+                totalRevenue = totalRevenue.add(order.getTotalAmount());
+                ordersByStatus.merge(order.getStatus().name(), 1L, Long::sum);
+                revenueByDay.merge(LocalDate.ofInstant(order.getCreatedAt(), ZONE), order.getTotalAmount(), BigDecimal::add);
+                return;
+            }
+            if (change.getType() != OrderChange.Type.STATUS_CHANGED) return;
+            OrderStatus previous = change.getPreviousStatus();
+            OrderStatus next = change.getStatus();
+            if (previous == next) return;
+            ordersByStatus.computeIfPresent(previous.name(), (k, v) -> v > 1 ? v - 1 : null);
+            ordersByStatus.merge(next.name(), 1L, Long::sum);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public AdminStatsResponse snapshot(int days) {
+        lock.lock();
+        try {
+            LocalDate since = LocalDate.now(ZONE).minusDays(Math.max(days, 1) - 1L);
+            return new AdminStatsResponse(
+                    totalOrders,
+                    totalRevenue,
+                    menuCache.current().getItems().size(),
+                    ordersByStatus.getOrDefault(OrderStatus.PENDING.name(), 0L),
+                    new HashMap<>(ordersByStatus),
+                    new TreeMap<>(revenueByDay.tailMap(since, true)));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static LocalDate toLocalDate(Object value) {
+        if (value instanceof LocalDate d) return d;
+        if (value instanceof Date d) return d.toLocalDate();
+        return LocalDate.parse(value.toString());
+    }
+}
@@ -0,0 +1,218 @@
+package com.moonlight.moonlightbackend.service;
+
+import com.moonlight.moonlightbackend.model.OutboxEvent;
+import com.moonlight.moonlightbackend.model.OutboxStatus;
+import com.moonlight.moonlightbackend.repository.OutboxEventRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Drains the outbox on a background thread: claims a batch of due rows (SKIP LOCKED,
+ * then leased by pushing next_attempt_at forward), runs the handlers outside any
+ * transaction, and records the outcome in one short transaction per batch.
+ * Failures back off exponentially with jitter until max attempts, then go DEAD.
+ */
+@Service
+public class OutboxDispatcher {
+
+    private static final Logger log = LoggerFactory.getLogger(OutboxDispatcher.class);
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final Map<String, OutboxHandler> handlers = new HashMap<>();
+    private final TransactionTemplate tx;
+    private final MeterRegistry meterRegistry;
+    private final int batchSize;
+    private final long pollMillis;
+    private final Duration lease;
+    private final int maxAttempts;
+    private final long backoffBaseMillis;
+    private final long backoffMaxMillis;
+    private final Duration retention;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition work = lock.newCondition();
+    private boolean signalled;
+    private volatile boolean running;
+    private Thread worker;
+
+    public OutboxDispatcher(OutboxEventRepository outboxEventRepository, List<OutboxHandler> handlers,
+                            PlatformTransactionManager transactionManager, MeterRegistry meterRegistry,
+                            @Value("${app.outbox.batch-size:100}") int batchSize,
+                            @Value("${app.outbox.poll-ms:1000}") long pollMillis,
+                            @Value("${app.outbox.lease-seconds:60}") long leaseSeconds,
+                            @Value("${app.outbox.max-attempts:10}") int maxAttempts,
+                            @Value("${app.outbox.backoff-base-ms:1000}") long backoffBaseMillis,
+                            @Value("${app.outbox.backoff-max-ms:300000}") long backoffMaxMillis,
+                            @Value("${app.outbox.retention-days:7}") long retentionDays) {
+        this.outboxEventRepository = outboxEventRepository;
+        for (OutboxHandler h : handlers) {
+            if (this.handlers.put(h.name(), h) != null) {
+                throw new IllegalStateException("Duplicate outbox handler name: " + h.name());
+            }
+        }
+        this.tx = new TransactionTemplate(transactionManager);
+        this.tx.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.meterRegistry = meterRegistry;
+        this.batchSize = batchSize;
+        this.pollMillis = pollMillis;
+        this.lease = Duration.ofSeconds(leaseSeconds);
+        this.maxAttempts = maxAttempts;
+        this.backoffBaseMillis = backoffBaseMillis;
+        this.backoffMaxMillis = backoffMaxMillis;
+        this.retention = Duration.ofDays(retentionDays);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (handlers.isEmpty()) {
+            log.info("No outbox handlers registered; dispatcher not started");
+            return;
+        }
+        running = true;
+        worker = new Thread(this::loop, "outbox-dispatcher");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        if (worker != null) {
+            worker.interrupt();
+            try {
+                worker.join(5000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /** Called after an order transaction commits so new rows are picked up without waiting a poll interval. */
+    public void wakeUp() {
+        lock.lock();
+        try {
+            signalled = true;
+            work.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Scheduled(cron = "${app.outbox.purge-cron:0 30 3 * * *}")
+    public void purgeProcessed() {
+        Instant before = Instant.now().minus(retention);
+        Integer removed = tx.execute(s -> outboxEventRepository.deleteProcessedBefore(OutboxStatus.DONE, before));
+        if (removed != null && removed > 0) log.info("Purged {} processed outbox rows", removed);
+    }
+
+    private void loop() {
+        while (running) {
+            int handled;
+            try {
+                handled = drainOnce();
+            } catch (RuntimeException e) {
+                // Database unavailable or similar; keep the thread alive and retry on the next poll
+                log.warn("Outbox drain failed: {}", e.toString());
+                handled = 0;
+            }
+            if (handled < batchSize) awaitWork();
+        }
+    }
+
+    private void awaitWork() {
+        lock.lock();
+        try {
+            if (!signalled) work.await(pollMillis, TimeUnit.MILLISECONDS);
+            signalled = false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            running = false;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    int drainOnce() {
+        List<OutboxEvent> batch = tx.execute(s -> {
+            Instant now = Instant.now();
+            List<OutboxEvent> due = outboxEventRepository.findDueForUpdate(OutboxStatus.PENDING, now,
+                    PageRequest.of(0, batchSize));
+            // The lease keeps other dispatchers off these rows while handlers run outside the transaction
+            for (OutboxEvent e : due) e.setNextAttemptAt(now.plus(lease));
+            return due;
+        });
+        if (batch == null || batch.isEmpty()) return 0;
+
+        List<Long> done = new ArrayList<>();
+        List<OutboxEvent> failed = new ArrayList<>();
+        for (OutboxEvent event : batch) {
+            OutboxHandler handler = handlers.get(event.getHandler());
+            try {
+                if (handler == null) throw new IllegalStateException("No outbox handler named " + event.getHandler());
+                handler.handle(event);
+                done.add(event.getId());
+                meterRegistry.counter("outbox.dispatched", "handler", event.getHandler(), "outcome", "success").increment();
+            } catch (Exception e) {
+                event.setLastError(truncate(e.toString()));
+                failed.add(event);
+                meterRegistry.counter("outbox.dispatched", "handler", event.getHandler(), "outcome", "failure").increment();
+            }
+        }
+
+        tx.executeWithoutResult(s -> {
+            Instant now = Instant.now();
+            if (!done.isEmpty()) outboxEventRepository.markProcessed(done, OutboxStatus.DONE, now);
+            for (OutboxEvent event : failed) reschedule(event, now);
+        });
+        return batch.size();
+    }
+
+    private void reschedule(OutboxEvent event, Instant now) {
+        outboxEventRepository.findById(event.getId()).ifPresent(row -> {
+            int attempts = row.getAttempts() + 1;
+            row.setAttempts(attempts);
+            row.setLastError(event.getLastError());
+            if (attempts >= maxAttempts) {
+                row.setStatus(OutboxStatus.DEAD);
+                row.setProcessedAt(now);
+                log.error("Outbox event {} ({} for {} {}) gave up after {} attempts: {}", row.getId(),
+                        row.getHandler(), row.getEventType(), row.getAggregateId(), attempts, row.getLastError());
+            } else {
+                row.setNextAttemptAt(now.plusMillis(backoffMillis(attempts)));
+            }
+        });
+    }
+
+    private long backoffMillis(int attempts) {
+        long exp = backoffBaseMillis << Math.min(attempts - 1, 20);
+        long capped = Math.min(exp, backoffMaxMillis);
+        // Equal jitter (half fixed, half random) so retries from one burst spread out
+        return capped / 2 + ThreadLocalRandom.current().nextLong(capped / 2 + 1);
+    }
+
+    private static String truncate(String s) {
+        return s.length() <= 1000 ? s : s.substring(0, 1000);
+    }
+}
@@ -0,0 +1,19 @@
+package com.moonlight.moonlightbackend.service;
+
+import com.moonlight.moonlightbackend.model.OutboxEvent;
+
+/**
+ * A side effect run by {@link OutboxDispatcher} after the order transaction commits.
+ * Delivery is at-least-once (a crash after handling but before the row is marked
+ * done replays it), so implementations must tolerate seeing an event twice.
+ * Throwing schedules a retry with backoff.
+ */
+public interface OutboxHandler {
+
+    /** Stable identifier stored on each outbox row; renaming it orphans pending rows. */
+    String name();
+
+    boolean supports(String eventType);
+
+    void handle(OutboxEvent event) throws Exception;
+}
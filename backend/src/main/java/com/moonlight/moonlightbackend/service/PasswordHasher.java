@@ -0,0 +1,82 @@
+package com.moonlight.moonlightbackend.service;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs BCrypt on a small dedicated pool with a bounded queue, so a burst of
+ * logins queues (or is rejected) here instead of occupying request threads
+ * that serve orders.
+ */
+@Service
+public class PasswordHasher {
+
+    private final BCryptPasswordEncoder encoder;
+    private final ThreadPoolExecutor pool;
+    private final long timeoutMillis;
+    // Compared against when the username does not exist, so both paths cost one BCrypt check
+    private final String dummyHash;
+
+    public PasswordHasher(@Value("${app.admin.password.bcrypt-strength:10}") int strength,
+                          @Value("${app.admin.password.threads:2}") int threads,
+                          @Value("${app.admin.password.queue-size:32}") int queueSize,
+                          @Value("${app.admin.password.timeout-ms:5000}") long timeoutMillis) {
+        this.encoder = new BCryptPasswordEncoder(strength);
+        AtomicInteger ids = new AtomicInteger();
+        this.pool = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueSize), r -> {
+                    Thread t = new Thread(r, "password-hash-" + ids.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                }, new ThreadPoolExecutor.AbortPolicy());
+        this.timeoutMillis = timeoutMillis;
+        this.dummyHash = encoder.encode("moonlight-dummy-password");
+    }
+
+    public static boolean isHashed(String stored) {
+        return stored != null && (stored.startsWith("$2a$") || stored.startsWith("$2b$") || stored.startsWith("$2y$"));
+    }
+
+    /**
+     * @throws RejectedExecutionException when the hashing queue is full
+     */
+    public boolean matches(String raw, String hash) {
+        return run(() -> encoder.matches(raw, hash != null ? hash : dummyHash));
+    }
+
+    public String hash(String raw) {
+        return run(() -> encoder.encode(raw));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdownNow();
+    }
+
+    private <T> T run(Callable<T> task) {
+        Future<T> future = pool.submit(task);
+        try {
+            return future.get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            throw new RejectedExecutionException("Password hashing timed out");
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RejectedExecutionException("Interrupted while hashing password");
+        }
+    }
+}
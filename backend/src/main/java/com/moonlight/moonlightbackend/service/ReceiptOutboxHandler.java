@@ -0,0 +1,45 @@
+package com.moonlight.moonlightbackend.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.moonlight.moonlightbackend.model.OutboxEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Receipt for orders that left an email address. There is no mail gateway yet, so
+ * the receipt is logged; swap the body of {@link #handle} for the real sender.
+ */
+@Component
+@ConditionalOnProperty(name = "app.outbox.receipts.enabled", havingValue = "true")
+public class ReceiptOutboxHandler implements OutboxHandler {
+
+    private static final Logger log = LoggerFactory.getLogger(ReceiptOutboxHandler.class);
+
+    private final ObjectMapper objectMapper;
+
+    public ReceiptOutboxHandler(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public String name() {
+        return "receipt-email";
+    }
+
+    @Override
+    public boolean supports(String eventType) {
+        return OrderOutboxWriter.ORDER_CREATED.equals(eventType);
+    }
+
+    @Override
+    public void handle(OutboxEvent event) throws Exception {
+        JsonNode order = objectMapper.readTree(event.getPayload());
+        String email = order.path("email").asText("");
+        if (email.isBlank()) return;
+        log.info("Receipt for order {} ({} {}) to {}", order.path("id").asLong(),
+                order.path("totalAmount").asText(), order.path("status").asText(), email);
+    }
+}
@@ -0,0 +1,126 @@
+package com.moonlight.moonlightbackend.service;
+
+import com.moonlight.moonlightbackend.dto.CreateReservationRequest;
+import com.moonlight.moonlightbackend.dto.ReservationView;
+import com.moonlight.moonlightbackend.dto.TableAvailability;
+import com.moonlight.moonlightbackend.model.Reservation;
+import com.moonlight.moonlightbackend.model.ReservationStatus;
+import com.moonlight.moonlightbackend.repository.ReservationRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.util.HashSet;
+import java.util.List;
+
+/**
+ * Availability and conflicts are read from the reservations table, so every node sees
+ * bookings and cancellations made through the others. Two nodes booking the same table
+ * at once both pass the check; the reservations_no_overlap constraint decides between them.
+ */
+@Service
+public class ReservationService {
+
+    private static final String EXCLUSION_VIOLATION = "23P01";
+
+    private final ReservationRepository reservationRepository;
+    private final TableLayout tableLayout;
+    private final Duration sitting;
+    private final ZoneId zone;
+
+    public ReservationService(ReservationRepository reservationRepository, TableLayout tableLayout,
+                              @Value("${app.reservations.sitting-minutes:120}") long sittingMinutes,
+                              @Value("${app.reservations.zone:}") String zone) {
+        this.reservationRepository = reservationRepository;
+        this.tableLayout = tableLayout;
+        this.sitting = Duration.ofMinutes(sittingMinutes);
+        this.zone = zone.isBlank() ? ZoneId.systemDefault() : ZoneId.of(zone);
+    }
+
+    @Transactional(readOnly = true)
+    public List<TableAvailability> findFreeTables(LocalDate date, LocalTime time, int guests) {
+        if (guests < 1) throw new IllegalArgumentException("Guests must be at least 1");
+        Instant start = date.atTime(time).atZone(zone).toInstant();
+        List<Integer> booked = reservationRepository.findTablesOverlapping(ReservationStatus.BOOKED, start, start.plus(sitting));
+        return tableLayout.tablesSeating(guests, new HashSet<>(booked));
+    }
+
+    @Transactional
+    public ReservationView create(CreateReservationRequest req) {
+        int capacity = tableLayout.capacity(req.getTableNumber());
+        if (capacity == 0) {
+            throw new IllegalArgumentException("Unknown table: " + req.getTableNumber());
+        }
+        if (req.getGuests() > capacity) {
+            throw new IllegalArgumentException("Table " + req.getTableNumber() + " seats at most " + capacity);
+        }
+        Instant start = req.getDate().atTime(req.getTime()).atZone(zone).toInstant();
+        if (start.isBefore(Instant.now())) {
+            throw new IllegalArgumentException("Reservation time is in the past");
+        }
+        Instant end = start.plus(sitting);
+
+        int table = req.getTableNumber();
+        if (reservationRepository.existsByTableNumberAndStatusAndStartsAtBeforeAndEndsAtAfter(
+                table, ReservationStatus.BOOKED, end, start)) {
+            throw alreadyBooked(table);
+        }
+
+        Reservation r = new Reservation();
+        r.setTableNumber(table);
+        r.setGuests(req.getGuests());
+        r.setStartsAt(start);
+        r.setEndsAt(end);
+        r.setCustomerName(req.getName());
+        r.setEmail(req.getEmail());
+        r.setPhone(req.getPhone());
+        r.setSpecialRequests(req.getSpecialRequests());
+        try {
+            return ReservationView.from(reservationRepository.saveAndFlush(r));
+        } catch (DataIntegrityViolationException e) {
+            // Booked concurrently, on this node or another
+            if (NestedExceptionUtils.getMostSpecificCause(e) instanceof SQLException sql
+                    && EXCLUSION_VIOLATION.equals(sql.getSQLState())) {
+                throw alreadyBooked(table);
+            }
+            throw e;
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public ReservationView get(Long id) {
+        return ReservationView.from(reservationRepository.findById(id)
+                .orElseThrow(() -> new IllegalArgumentException("Reservation not found: " + id)));
+    }
+
+    @Transactional(readOnly = true)
+    public List<ReservationView> listForDay(LocalDate date) {
+        Instant from = date.atStartOfDay(zone).toInstant();
+        Instant to = date.plusDays(1).atStartOfDay(zone).toInstant();
+        return reservationRepository
+                .findByStartsAtGreaterThanEqualAndStartsAtLessThanOrderByStartsAtAscTableNumberAsc(from, to)
+                .stream().map(ReservationView::from).toList();
+    }
+
+    @Transactional
+    public ReservationView cancel(Long id) {
+        Reservation r = reservationRepository.findById(id)
+                .orElseThrow(() -> new IllegalArgumentException("Reservation not found: " + id));
+        if (r.getStatus() == ReservationStatus.CANCELLED) return ReservationView.from(r);
+
+        r.setStatus(ReservationStatus.CANCELLED);
+        return ReservationView.from(r);
+    }
+
+    private static IllegalStateException alreadyBooked(int tableNumber) {
+        return new IllegalStateException("Table " + tableNumber + " is already booked at that time");
+    }
+}
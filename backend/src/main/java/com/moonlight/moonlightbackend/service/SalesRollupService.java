@@ -0,0 +1,331 @@
+package com.moonlight.moonlightbackend.service;
+
+import com.moonlight.moonlightbackend.dto.SalesBucket;
+import com.moonlight.moonlightbackend.dto.SalesReportRow;
+import com.moonlight.moonlightbackend.event.OrderStatusChangedEvent;
+import com.moonlight.moonlightbackend.model.OrderStatus;
+import com.moonlight.moonlightbackend.repository.SalesRollupRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Maintains the hourly and daily sales rollups and answers reports from them.
+ * Orders are added in created_at order behind a watermark that trails the database clock by
+ * {@code settle-seconds}. Each run also re-scans the last {@code overlap-seconds} before the
+ * watermark and adds what it did not add before, so an order that committed late, or was
+ * stamped by a node whose clock runs behind, is still counted once.
+ * A cancellation is only queued in its own transaction; the next roll-up subtracts the
+ * order if it was already added, so cancelling never waits for a roll-up or a backfill.
+ * History (or a damaged range) is rebuilt in day-aligned chunks on a small pool.
+ */
+@Service
+@ConditionalOnProperty(name = "app.reports.enabled", havingValue = "true", matchIfMissing = true)
+public class SalesRollupService {
+
+    private static final Logger log = LoggerFactory.getLogger(SalesRollupService.class);
+    // Buckets follow the JDBC session zone, which is the JVM default (as in OrderStatsService)
+    private static final ZoneId ZONE = ZoneId.systemDefault();
+    private static final int MAX_POINTS = 10_000;
+    private static final int MAX_LIMIT = 100;
+    private static final Set<String> METRICS = Set.of("revenue", "quantity", "orders");
+
+    private final SalesRollupRepository repository;
+    private final TransactionTemplate tx;
+    private final TransactionTemplate readTx;
+    private final Duration settle;
+    private final Duration overlap;
+    private final int backfillThreads;
+    private final Duration chunk;
+    private final Duration archiveRetention;
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+    private final AtomicReference<Instant> watermark = new AtomicReference<>();
+
+    public SalesRollupService(SalesRollupRepository repository, PlatformTransactionManager transactionManager,
+                              MeterRegistry meterRegistry,
+                              @Value("${app.reports.settle-seconds:10}") long settleSeconds,
+                              @Value("${app.reports.overlap-seconds:600}") long overlapSeconds,
+                              @Value("${app.reports.backfill-threads:4}") int backfillThreads,
+                              @Value("${app.reports.backfill-chunk-days:7}") long chunkDays,
+                              @Value("${app.orders.archive.enabled:true}") boolean archiveEnabled,
+                              @Value("${app.orders.archive.retain-days:90}") long archiveRetainDays) {
+        this.repository = repository;
+        this.tx = new TransactionTemplate(transactionManager);
+        this.tx.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.readTx = new TransactionTemplate(transactionManager);
+        this.readTx.setReadOnly(true);
+        this.settle = Duration.ofSeconds(settleSeconds);
+        this.overlap = Duration.ofSeconds(Math.max(overlapSeconds, 0));
+        this.backfillThreads = Math.max(backfillThreads, 1);
+        this.chunk = Duration.ofDays(Math.max(chunkDays, 1));
+        this.archiveRetention = archiveEnabled ? Duration.ofDays(archiveRetainDays) : null;
+        Gauge.builder("sales.rollup.lag", watermark, w -> w.get() == null ? Double.NaN
+                        : Duration.between(w.get(), Instant.now()).toMillis() / 1000.0)
+                .description("Seconds between now and the newest order creation time included in sales rollups")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${app.reports.rollup-ms:5000}",
+            initialDelayString = "${app.reports.rollup-ms:5000}")
+    public void rollUp() {
+        if (rebuilding.get()) return;
+        Instant mark = repository.rolledUpTo();
+        watermark.set(mark);
+        if (mark == null) {
+            // Fresh table (or a failed rebuild): fill it from the oldest live order
+            launchRebuild(null);
+            return;
+        }
+        Instant advanced = tx.execute(s -> {
+            if (!repository.tryLock()) return null;
+            Instant from = repository.rolledUpTo();
+            if (from == null) return null;
+            Instant rescanFrom = repository.rescanFrom();
+            if (rescanFrom == null) rescanFrom = from;
+            repository.applyCancellations(from, rescanFrom);
+            Instant upTo = repository.databaseNow().minus(settle);
+            if (!upTo.isAfter(from)) return null;
+            Instant nextRescanFrom = max(rescanFrom, upTo.minus(overlap));
+            repository.addRange(rescanFrom, upTo, nextRescanFrom);
+            repository.setRolledUpTo(upTo, nextRescanFrom);
+            return upTo;
+        });
+        if (advanced != null) watermark.set(advanced);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void onOrderStatusChanged(OrderStatusChangedEvent event) {
+        if (event.getStatus() != OrderStatus.CANCELLED) return;
+        repository.queueCancellation(event.getOrderId());
+    }
+
+    /**
+     * Recomputes every bucket from the start of {@code from}'s day (the oldest live order
+     * when null) in the background. Buckets older than that are kept, so history whose
+     * orders have been archived survives a partial rebuild; a rebuild never starts before
+     * the first day the archiver cannot have touched yet.
+     */
+    public void startRebuild(Instant from) {
+        Instant floor = rebuildFloor();
+        if (from != null && floor != null && from.isBefore(floor)) {
+            throw new IllegalArgumentException("Orders before " + floor
+                    + " may have been archived; rebuild from that day or later");
+        }
+        if (!launchRebuild(from)) throw new IllegalStateException("A sales rollup rebuild is already running");
+    }
+
+    public Map<String, Object> status() {
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("rolledUpTo", repository.rolledUpTo());
+        status.put("rebuilding", rebuilding.get());
+        return status;
+    }
+
+    private boolean launchRebuild(Instant from) {
+        if (!rebuilding.compareAndSet(false, true)) return false;
+        Thread worker = new Thread(() -> {
+            try {
+                if (!repository.runExclusively(() -> rebuild(from))) {
+                    log.info("Sales rollups are locked by another node or writer; rebuild skipped");
+                }
+            } catch (RuntimeException e) {
+                log.error("Sales rollup rebuild failed; it restarts from the oldest order", e);
+            } finally {
+                rebuilding.set(false);
+            }
+        }, "sales-rollup-rebuild");
+        worker.setDaemon(true);
+        worker.start();
+        return true;
+    }
+
+    public List<SalesReportRow> topItems(Instant from, Instant to, String metric, int limit) {
+        checkRange(from, to);
+        String column = metric == null || metric.isBlank() ? "revenue" : metric.trim().toLowerCase(Locale.ROOT);
+        if (!METRICS.contains(column)) throw new IllegalArgumentException("Unknown metric: " + metric);
+        int size = Math.min(Math.max(limit, 1), MAX_LIMIT);
+        String granularity = granularityFor(from, to);
+        return readTx.execute(s -> withShares(
+                repository.top(granularity, "ITEM", from, to, column, size), granularity, from, to));
+    }
+
+    public List<SalesReportRow> categoryMix(Instant from, Instant to) {
+        checkRange(from, to);
+        String granularity = granularityFor(from, to);
+        return readTx.execute(s -> withShares(
+                repository.top(granularity, "CATEGORY", from, to, "revenue", MAX_LIMIT), granularity, from, to));
+    }
+
+    /** One point per hour or day in [from, to), zero-filled where nothing was sold. */
+    public List<SalesBucket> series(Instant from, Instant to, String bucket, String dimension, String key) {
+        checkRange(from, to);
+        ChronoUnit unit = switch (bucket == null ? "hour" : bucket.trim().toLowerCase(Locale.ROOT)) {
+            case "hour" -> ChronoUnit.HOURS;
+            case "day" -> ChronoUnit.DAYS;
+            default -> throw new IllegalArgumentException("Unknown bucket: " + bucket);
+        };
+        String dim = dimension == null || dimension.isBlank() ? "TOTAL" : dimension.trim().toUpperCase(Locale.ROOT);
+        if (!List.of("TOTAL", "ITEM", "CATEGORY").contains(dim)) {
+            throw new IllegalArgumentException("Unknown dimension: " + dimension);
+        }
+        if (!dim.equals("TOTAL") && (key == null || key.isBlank())) {
+            throw new IllegalArgumentException("key is required for dimension " + dim.toLowerCase(Locale.ROOT));
+        }
+        String dimKey = dim.equals("TOTAL") ? "" : key.trim();
+
+        ZonedDateTime start = from.atZone(ZONE).truncatedTo(unit);
+        if (start.plus(MAX_POINTS, unit).toInstant().isBefore(to)) {
+            throw new IllegalArgumentException("Range covers more than " + MAX_POINTS + " " + unit.toString().toLowerCase(Locale.ROOT));
+        }
+        String granularity = unit == ChronoUnit.HOURS ? "HOUR" : "DAY";
+        List<SalesBucket> stored = readTx.execute(s ->
+                repository.series(granularity, dim, dimKey, start.toInstant(), to));
+        Map<Instant, SalesBucket> byStart = new HashMap<>();
+        for (SalesBucket b : stored) byStart.put(b.getBucketStart(), b);
+
+        List<SalesBucket> points = new ArrayList<>();
+        for (ZonedDateTime t = start; t.toInstant().isBefore(to); t = t.plus(1, unit)) {
+            Instant at = t.toInstant();
+            SalesBucket b = byStart.get(at);
+            points.add(b != null ? b : new SalesBucket(at, 0, BigDecimal.ZERO, 0));
+        }
+        return points;
+    }
+
+    private void rebuild(Instant requestedFrom) {
+        long started = System.nanoTime();
+        Instant upTo = repository.databaseNow().minus(settle);
+        Instant current = repository.rolledUpTo();
+        // Never leave a gap between the rebuilt range and what was already rolled up
+        Instant from = requestedFrom == null || current == null ? repository.oldestOrderCreatedAt()
+                : requestedFrom.isAfter(current) ? current : requestedFrom;
+        Instant day = from == null ? null : from.atZone(ZONE).truncatedTo(ChronoUnit.DAYS).toInstant();
+        // An old order that is still open can predate archived days; their buckets cannot be recomputed.
+        // Only a table with nothing stored before the floor (the first backfill) starts earlier
+        Instant floor = rebuildFloor();
+        Instant start = day != null && floor != null && day.isBefore(floor) && repository.hasBucketsBefore(floor)
+                ? floor : day;
+
+        if (start == null || !start.isBefore(upTo)) {
+            tx.executeWithoutResult(s -> repository.setRolledUpTo(upTo, upTo));
+            watermark.set(upTo);
+            return;
+        }
+
+        // Clearing the watermark with the delete means a rebuild that dies half way is redone in full
+        tx.executeWithoutResult(s -> {
+            repository.clearRolledUpTo();
+            repository.deleteFrom(start);
+        });
+        watermark.set(null);
+        Instant rescanFrom = max(start, upTo.minus(overlap));
+
+        List<Instant[]> ranges = new ArrayList<>();
+        // Ranges are (after, upTo]; PostgreSQL timestamps are microsecond precision, so this includes start itself
+        Instant lo = start.minus(1, ChronoUnit.MICROS);
+        for (Instant t = start; t.isBefore(upTo); t = t.plus(chunk)) {
+            Instant hi = t.plus(chunk).isBefore(upTo) ? t.plus(chunk) : upTo;
+            ranges.add(new Instant[] {lo, hi});
+            lo = hi;
+        }
+
+        AtomicInteger threadIds = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(Math.min(backfillThreads, ranges.size()), r -> {
+            Thread t = new Thread(r, "sales-rollup-backfill-" + threadIds.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+        try {
+            List<Future<Integer>> results = new ArrayList<>();
+            for (Instant[] range : ranges) {
+                results.add(pool.submit(() -> tx.execute(s -> repository.addRange(range[0], range[1], rescanFrom))));
+            }
+            for (Future<Integer> result : results) result.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Sales rollup rebuild interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Sales rollup rebuild failed", e.getCause());
+        } finally {
+            pool.shutdownNow();
+        }
+
+        tx.executeWithoutResult(s -> {
+            repository.setRolledUpTo(upTo, rescanFrom);
+            repository.applyCancellations(upTo, rescanFrom);
+        });
+        watermark.set(upTo);
+        log.info("Rebuilt sales rollups from {} to {} in {} chunks ({} ms)", start, upTo, ranges.size(),
+                Duration.ofNanos(System.nanoTime() - started).toMillis());
+    }
+
+    // Start of the day after the one containing the archive cutoff, which may be partly archived already
+    private Instant rebuildFloor() {
+        if (archiveRetention == null) return null;
+        return Instant.now().minus(archiveRetention).atZone(ZONE)
+                .truncatedTo(ChronoUnit.DAYS).plusDays(1).toInstant();
+    }
+
+    private List<SalesReportRow> withShares(List<SalesReportRow> rows, String granularity, Instant from, Instant to) {
+        List<SalesReportRow> total = repository.top(granularity, "TOTAL", from, to, "revenue", 1);
+        BigDecimal revenue = total.isEmpty() ? BigDecimal.ZERO : total.get(0).getRevenue();
+        if (revenue.signum() > 0) {
+            for (SalesReportRow row : rows) {
+                row.setRevenueShare(row.getRevenue().divide(revenue, 4, RoundingMode.HALF_UP));
+            }
+        }
+        return rows;
+    }
+
+    // Whole local days are answered from the daily rows; anything else from the hourly ones
+    private static String granularityFor(Instant from, Instant to) {
+        return isMidnight(from) && isMidnight(to) ? "DAY" : "HOUR";
+    }
+
+    private static Instant max(Instant a, Instant b) {
+        return a.isAfter(b) ? a : b;
+    }
+
+    private static boolean isMidnight(Instant instant) {
+        return instant.atZone(ZONE).toLocalTime().equals(LocalTime.MIDNIGHT);
+    }
+
+    private static void checkRange(Instant from, Instant to) {
+        if (from == null || to == null) throw new IllegalArgumentException("Both from and to are required");
+        if (!from.isBefore(to)) throw new IllegalArgumentException("from must be before to");
+    }
+}
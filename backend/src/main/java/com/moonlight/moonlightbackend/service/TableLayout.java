@@ -0,0 +1,39 @@
+package com.moonlight.moonlightbackend.service;
+
+import com.moonlight.moonlightbackend.dto.TableAvailability;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+
+/** The restaurant's bookable tables; table N seats the Nth configured capacity. */
+@Component
+public class TableLayout {
+
+    private final int[] capacities;
+    // Sorted by capacity so the smallest table that fits is offered first
+    private final List<TableAvailability> bySize;
+
+    public TableLayout(@Value("${app.reservations.table-capacities:2,2,2,4,4,4,4,4,6,6,6,8,8,10,12}") int[] capacities) {
+        this.capacities = capacities.clone();
+        List<TableAvailability> tables = new ArrayList<>();
+        for (int i = 0; i < capacities.length; i++) tables.add(new TableAvailability(i + 1, capacities[i]));
+        tables.sort(Comparator.comparingInt(TableAvailability::getCapacity)
+                .thenComparingInt(TableAvailability::getTableNumber));
+        this.bySize = List.copyOf(tables);
+    }
+
+    /** Capacity of the table, or 0 if there is no such table. */
+    public int capacity(int tableNumber) {
+        return tableNumber >= 1 && tableNumber <= capacities.length ? capacities[tableNumber - 1] : 0;
+    }
+
+    public List<TableAvailability> tablesSeating(int guests, Collection<Integer> excluded) {
+        return bySize.stream()
+                .filter(t -> t.getCapacity() >= guests && !excluded.contains(t.getTableNumber()))
+                .toList();
+    }
+}
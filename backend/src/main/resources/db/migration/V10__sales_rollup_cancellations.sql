@@ -0,0 +1,8 @@
+-- Cancellations waiting to be applied to sales_rollups. The cancelling transaction only inserts here; the next
+-- roll-up subtracts the order if it was already added and deletes the row. Until then the order still counts
+-- as sold, also for ranges added in the meantime.
+CREATE TABLE sales_rollup_cancellations (
+    order_id     bigint                   NOT NULL,
+    cancelled_at timestamp with time zone NOT NULL,
+    CONSTRAINT sales_rollup_cancellations_pkey PRIMARY KEY (order_id)
+);
@@ -0,0 +1,13 @@
+-- Orders are stamped with the clock of the node that took them and can commit after the roll-up has passed their
+-- created_at. Each roll-up therefore re-scans orders created after rescan_from (trailing rolled_up_to by
+-- app.reports.overlap-seconds) and skips the ones already added, which are listed in sales_rollup_orders.
+ALTER TABLE sales_rollup_state ADD COLUMN rescan_from timestamp with time zone;
+-- Nothing is listed yet, so the window starts at the current watermark and widens from there
+UPDATE sales_rollup_state SET rescan_from = rolled_up_to;
+
+CREATE TABLE sales_rollup_orders (
+    order_id   bigint                   NOT NULL,
+    created_at timestamp with time zone NOT NULL,
+    CONSTRAINT sales_rollup_orders_pkey PRIMARY KEY (order_id)
+);
+CREATE INDEX idx_sales_rollup_orders_created ON sales_rollup_orders (created_at);
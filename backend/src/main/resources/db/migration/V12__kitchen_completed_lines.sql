@@ -0,0 +1,9 @@
+-- Order lines a cook has marked done, so every node drops them from its kitchen queues and a rebuild does not
+-- bring them back. Rows older than the kitchen rebuild window are pruned.
+CREATE TABLE kitchen_completed_lines (
+    order_id     bigint                   NOT NULL,
+    menu_item_id bigint                   NOT NULL,
+    completed_at timestamp with time zone NOT NULL,
+    CONSTRAINT kitchen_completed_lines_pkey PRIMARY KEY (order_id, menu_item_id)
+);
+CREATE INDEX idx_kitchen_completed_lines_completed ON kitchen_completed_lines (completed_at);
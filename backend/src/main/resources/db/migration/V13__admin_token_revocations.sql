@@ -0,0 +1,9 @@
+-- Admin tokens revoked by logout, so every node rejects them and not only the one that handled the logout.
+-- Rows are deleted once the token would have expired anyway.
+CREATE TABLE admin_token_revocations (
+    token_id   varchar(36)              NOT NULL,
+    expires_at timestamp with time zone NOT NULL,
+    revoked_at timestamp with time zone NOT NULL,
+    CONSTRAINT admin_token_revocations_pkey PRIMARY KEY (token_id)
+);
+CREATE INDEX idx_admin_token_revocations_revoked ON admin_token_revocations (revoked_at);
@@ -0,0 +1,69 @@
+-- Databases created by ddl-auto=update are baselined at V1 without running it, but the oldest of them
+-- predate pooled sequence ids, versioned orders and the later tables. Bring any such schema up to V1;
+-- on a database V1 created this changes nothing.
+
+CREATE SEQUENCE IF NOT EXISTS menu_items_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS orders_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS order_items_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS admins_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS reservations_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS outbox_events_seq START WITH 1 INCREMENT BY 50;
+
+-- Ids used to be IDENTITY columns; the application now assigns them from the sequences above
+-- (V2 moves each sequence past the existing ids)
+ALTER TABLE menu_items ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE orders ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE order_items ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE admins ALTER COLUMN id DROP IDENTITY IF EXISTS;
+
+ALTER TABLE orders ADD COLUMN IF NOT EXISTS version bigint;
+
+-- V3 drops these by name before partitioning
+CREATE INDEX IF NOT EXISTS idx_orders_created_id ON orders (created_at DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_orders_status_created ON orders (status, created_at DESC);
+CREATE INDEX IF NOT EXISTS idx_orders_table_created ON orders (table_number, created_at DESC);
+CREATE INDEX IF NOT EXISTS idx_order_items_order ON order_items (order_id);
+
+CREATE TABLE IF NOT EXISTS idempotency_keys (
+    idempotency_key varchar(128)             NOT NULL,
+    order_id        bigint                   NOT NULL,
+    created_at      timestamp with time zone NOT NULL,
+    CONSTRAINT idempotency_keys_pkey PRIMARY KEY (idempotency_key)
+);
+CREATE INDEX IF NOT EXISTS idx_idempotency_keys_created ON idempotency_keys (created_at);
+
+CREATE TABLE IF NOT EXISTS reservations (
+    id               bigint                   NOT NULL,
+    table_number     integer                  NOT NULL,
+    guests           integer                  NOT NULL,
+    starts_at        timestamp with time zone NOT NULL,
+    ends_at          timestamp with time zone NOT NULL,
+    customer_name    varchar(120),
+    email            varchar(255),
+    phone            varchar(32),
+    special_requests varchar(1000),
+    status           varchar(32)              NOT NULL,
+    version          bigint,
+    created_at       timestamp with time zone NOT NULL,
+    CONSTRAINT reservations_pkey PRIMARY KEY (id),
+    CONSTRAINT reservations_status_check CHECK (status IN ('BOOKED', 'CANCELLED'))
+);
+CREATE INDEX IF NOT EXISTS idx_reservations_table_starts ON reservations (table_number, starts_at);
+CREATE INDEX IF NOT EXISTS idx_reservations_status_ends ON reservations (status, ends_at);
+
+CREATE TABLE IF NOT EXISTS outbox_events (
+    id              bigint                   NOT NULL,
+    event_type      varchar(64)              NOT NULL,
+    aggregate_id    bigint                   NOT NULL,
+    handler         varchar(64)              NOT NULL,
+    payload         text                     NOT NULL,
+    status          varchar(16)              NOT NULL,
+    attempts        integer                  NOT NULL,
+    next_attempt_at timestamp with time zone NOT NULL,
+    last_error      varchar(1000),
+    created_at      timestamp with time zone NOT NULL,
+    processed_at    timestamp with time zone,
+    CONSTRAINT outbox_events_pkey PRIMARY KEY (id),
+    CONSTRAINT outbox_events_status_check CHECK (status IN ('PENDING', 'DONE', 'DEAD'))
+);
+CREATE INDEX IF NOT EXISTS idx_outbox_status_next ON outbox_events (status, next_attempt_at);
@@ -0,0 +1,107 @@
+-- Schema as Hibernate ddl-auto=update left it. Existing databases are baselined at this version
+-- (spring.flyway.baseline-on-migrate) and start from V2.
+
+CREATE SEQUENCE menu_items_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE orders_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE order_items_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE admins_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE reservations_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE outbox_events_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE menu_items (
+    id          bigint                   NOT NULL,
+    name        varchar(255)             NOT NULL,
+    description varchar(1000),
+    price       numeric(12, 2)           NOT NULL,
+    category    varchar(255)             NOT NULL,
+    active      boolean                  NOT NULL,
+    created_at  timestamp with time zone NOT NULL,
+    CONSTRAINT menu_items_pkey PRIMARY KEY (id)
+);
+
+CREATE TABLE admins (
+    id         bigint                   NOT NULL,
+    username   varchar(255)             NOT NULL,
+    password   varchar(255)             NOT NULL,
+    full_name  varchar(255)             NOT NULL,
+    email      varchar(255),
+    role       varchar(255)             NOT NULL,
+    active     boolean                  NOT NULL,
+    created_at timestamp with time zone NOT NULL,
+    CONSTRAINT admins_pkey PRIMARY KEY (id),
+    CONSTRAINT uk_admins_username UNIQUE (username),
+    CONSTRAINT uk_admins_email UNIQUE (email)
+);
+
+CREATE TABLE orders (
+    id           bigint                   NOT NULL,
+    table_number integer                  NOT NULL,
+    email        varchar(255),
+    phone        varchar(32),
+    total_amount numeric(12, 2)           NOT NULL,
+    status       varchar(64)              NOT NULL,
+    version      bigint,
+    created_at   timestamp with time zone NOT NULL,
+    CONSTRAINT orders_pkey PRIMARY KEY (id),
+    CONSTRAINT orders_status_check
+        CHECK (status IN ('PENDING', 'PREPARING', 'READY', 'SERVED', 'COMPLETED', 'CANCELLED'))
+);
+CREATE INDEX idx_orders_created_id ON orders (created_at DESC, id DESC);
+CREATE INDEX idx_orders_status_created ON orders (status, created_at DESC);
+CREATE INDEX idx_orders_table_created ON orders (table_number, created_at DESC);
+
+CREATE TABLE order_items (
+    id           bigint         NOT NULL,
+    order_id     bigint         NOT NULL,
+    menu_item_id bigint,
+    name         varchar(255)   NOT NULL,
+    unit_price   numeric(12, 2) NOT NULL,
+    quantity     integer        NOT NULL,
+    CONSTRAINT order_items_pkey PRIMARY KEY (id),
+    CONSTRAINT fk_order_items_order FOREIGN KEY (order_id) REFERENCES orders (id)
+);
+CREATE INDEX idx_order_items_order ON order_items (order_id);
+
+CREATE TABLE idempotency_keys (
+    idempotency_key varchar(128)             NOT NULL,
+    order_id        bigint                   NOT NULL,
+    created_at      timestamp with time zone NOT NULL,
+    CONSTRAINT idempotency_keys_pkey PRIMARY KEY (idempotency_key)
+);
+CREATE INDEX idx_idempotency_keys_created ON idempotency_keys (created_at);
+
+CREATE TABLE reservations (
+    id               bigint                   NOT NULL,
+    table_number     integer                  NOT NULL,
+    guests           integer                  NOT NULL,
+    starts_at        timestamp with time zone NOT NULL,
+    ends_at          timestamp with time zone NOT NULL,
+    customer_name    varchar(120),
+    email            varchar(255),
+    phone            varchar(32),
+    special_requests varchar(1000),
+    status           varchar(32)              NOT NULL,
+    version          bigint,
+    created_at       timestamp with time zone NOT NULL,
+    CONSTRAINT reservations_pkey PRIMARY KEY (id),
+    CONSTRAINT reservations_status_check CHECK (status IN ('BOOKED', 'CANCELLED'))
+);
+CREATE INDEX idx_reservations_table_starts ON reservations (table_number, starts_at);
+CREATE INDEX idx_reservations_status_ends ON reservations (status, ends_at);
+
+CREATE TABLE outbox_events (
+    id              bigint                   NOT NULL,
+    event_type      varchar(64)              NOT NULL,
+    aggregate_id    bigint                   NOT NULL,
+    handler         varchar(64)              NOT NULL,
+    payload         text                     NOT NULL,
+    status          varchar(16)              NOT NULL,
+    attempts        integer                  NOT NULL,
+    next_attempt_at timestamp with time zone NOT NULL,
+    last_error      varchar(1000),
+    created_at      timestamp with time zone NOT NULL,
+    processed_at    timestamp with time zone,
+    CONSTRAINT outbox_events_pkey PRIMARY KEY (id),
+    CONSTRAINT outbox_events_status_check CHECK (status IN ('PENDING', 'DONE', 'DEAD'))
+);
+CREATE INDEX idx_outbox_status_next ON outbox_events (status, next_attempt_at);
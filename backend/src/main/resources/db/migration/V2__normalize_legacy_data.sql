@@ -0,0 +1,12 @@
+-- Formerly re-run from data.sql on every startup; once is enough now that the application owns these values.
+
+-- Move id sequences past rows created while ids were IDENTITY columns (never moves a sequence backwards)
+SELECT setval('menu_items_seq', GREATEST((SELECT last_value FROM menu_items_seq), (SELECT COALESCE(MAX(id), 0) + 50 FROM menu_items)));
+SELECT setval('orders_seq', GREATEST((SELECT last_value FROM orders_seq), (SELECT COALESCE(MAX(id), 0) + 50 FROM orders)));
+SELECT setval('order_items_seq', GREATEST((SELECT last_value FROM order_items_seq), (SELECT COALESCE(MAX(id), 0) + 50 FROM order_items)));
+SELECT setval('admins_seq', GREATEST((SELECT last_value FROM admins_seq), (SELECT COALESCE(MAX(id), 0) + 50 FROM admins)));
+
+-- Orders stored before the typed status lifecycle: start versioning and map unknown statuses to PENDING
+UPDATE orders SET version = 0 WHERE version IS NULL;
+UPDATE orders SET status = 'PENDING'
+ WHERE status NOT IN ('PENDING', 'PREPARING', 'READY', 'SERVED', 'COMPLETED', 'CANCELLED');
@@ -0,0 +1,96 @@
+-- orders and order_items become range-partitioned by month of the order's created_at (UTC months).
+-- A partitioned table's keys must include the partition column, so order_items carries a copy of it.
+
+ALTER TABLE order_items RENAME TO order_items_legacy;
+ALTER TABLE orders RENAME TO orders_legacy;
+ALTER INDEX order_items_pkey RENAME TO order_items_legacy_pkey;
+ALTER INDEX orders_pkey RENAME TO orders_legacy_pkey;
+DROP INDEX idx_order_items_order;
+DROP INDEX idx_orders_created_id;
+DROP INDEX idx_orders_status_created;
+DROP INDEX idx_orders_table_created;
+
+CREATE TABLE orders (
+    id           bigint                   NOT NULL,
+    table_number integer                  NOT NULL,
+    email        varchar(255),
+    phone        varchar(32),
+    total_amount numeric(12, 2)           NOT NULL,
+    status       varchar(64)              NOT NULL,
+    version      bigint,
+    created_at   timestamp with time zone NOT NULL,
+    CONSTRAINT orders_pkey PRIMARY KEY (id, created_at),
+    CONSTRAINT orders_status_check
+        CHECK (status IN ('PENDING', 'PREPARING', 'READY', 'SERVED', 'COMPLETED', 'CANCELLED'))
+) PARTITION BY RANGE (created_at);
+CREATE INDEX idx_orders_created_id ON orders (created_at DESC, id DESC);
+CREATE INDEX idx_orders_status_created ON orders (status, created_at DESC);
+CREATE INDEX idx_orders_table_created ON orders (table_number, created_at DESC);
+
+CREATE TABLE order_items (
+    id               bigint                   NOT NULL,
+    order_id         bigint                   NOT NULL,
+    order_created_at timestamp with time zone NOT NULL,
+    menu_item_id     bigint,
+    name             varchar(255)             NOT NULL,
+    unit_price       numeric(12, 2)           NOT NULL,
+    quantity         integer                  NOT NULL,
+    CONSTRAINT order_items_pkey PRIMARY KEY (id, order_created_at),
+    CONSTRAINT fk_order_items_order FOREIGN KEY (order_id, order_created_at)
+        REFERENCES orders (id, created_at) ON DELETE CASCADE
+) PARTITION BY RANGE (order_created_at);
+CREATE INDEX idx_order_items_order ON order_items (order_id);
+
+-- Catch-alls so an insert never fails for lack of a partition; OrderArchiveService keeps months ahead created
+CREATE TABLE orders_default PARTITION OF orders DEFAULT;
+CREATE TABLE order_items_default PARTITION OF order_items DEFAULT;
+
+-- Creates the monthly partitions of both tables for [from_month, from_month + months); returns how many were new
+CREATE FUNCTION ensure_order_partitions(from_month date, months integer) RETURNS integer
+LANGUAGE plpgsql AS $$
+DECLARE
+    month_start date := date_trunc('month', from_month)::date;
+    lower_bound timestamptz;
+    upper_bound timestamptz;
+    suffix text;
+    created integer := 0;
+BEGIN
+    FOR i IN 1..months LOOP
+        suffix := to_char(month_start, 'YYYYMM');
+        lower_bound := month_start::timestamp AT TIME ZONE 'UTC';
+        upper_bound := (month_start + interval '1 month')::timestamp AT TIME ZONE 'UTC';
+        IF to_regclass('orders_p' || suffix) IS NULL THEN
+            EXECUTE format('CREATE TABLE %I PARTITION OF orders FOR VALUES FROM (%L) TO (%L)',
+                           'orders_p' || suffix, lower_bound, upper_bound);
+            created := created + 1;
+        END IF;
+        IF to_regclass('order_items_p' || suffix) IS NULL THEN
+            EXECUTE format('CREATE TABLE %I PARTITION OF order_items FOR VALUES FROM (%L) TO (%L)',
+                           'order_items_p' || suffix, lower_bound, upper_bound);
+        END IF;
+        month_start := (month_start + interval '1 month')::date;
+    END LOOP;
+    RETURN created;
+END;
+$$;
+
+DO $$
+DECLARE
+    first_month date := date_trunc('month', COALESCE((SELECT min(created_at) FROM orders_legacy), now()) AT TIME ZONE 'UTC')::date;
+    this_month date := date_trunc('month', now() AT TIME ZONE 'UTC')::date;
+BEGIN
+    PERFORM ensure_order_partitions(first_month,
+        ((extract(year FROM this_month) - extract(year FROM first_month)) * 12
+            + extract(month FROM this_month) - extract(month FROM first_month))::integer + 4);
+END;
+$$;
+
+INSERT INTO orders (id, table_number, email, phone, total_amount, status, version, created_at)
+SELECT id, table_number, email, phone, total_amount, status, version, created_at FROM orders_legacy;
+
+INSERT INTO order_items (id, order_id, order_created_at, menu_item_id, name, unit_price, quantity)
+SELECT oi.id, oi.order_id, o.created_at, oi.menu_item_id, oi.name, oi.unit_price, oi.quantity
+  FROM order_items_legacy oi JOIN orders_legacy o ON o.id = oi.order_id;
+
+DROP TABLE order_items_legacy;
+DROP TABLE orders_legacy;
@@ -0,0 +1,16 @@
+-- Per-day, per-status totals of orders the archival job has removed from the orders table
+CREATE SEQUENCE order_daily_summaries_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE order_daily_summaries (
+    id            bigint                   NOT NULL,
+    business_date date                     NOT NULL,
+    status        varchar(64)              NOT NULL,
+    order_count   bigint                   NOT NULL,
+    item_count    bigint                   NOT NULL,
+    total_amount  numeric(14, 2)           NOT NULL,
+    updated_at    timestamp with time zone NOT NULL,
+    CONSTRAINT order_daily_summaries_pkey PRIMARY KEY (id),
+    CONSTRAINT uk_order_daily_summaries_day_status UNIQUE (business_date, status),
+    CONSTRAINT order_daily_summaries_status_check
+        CHECK (status IN ('PENDING', 'PREPARING', 'READY', 'SERVED', 'COMPLETED', 'CANCELLED'))
+);
@@ -0,0 +1,8 @@
+-- Bumped in every menu write transaction; nodes compare it with the version their menu cache was built from
+CREATE TABLE menu_version (
+    id      integer NOT NULL,
+    version bigint  NOT NULL,
+    CONSTRAINT menu_version_pkey PRIMARY KEY (id),
+    CONSTRAINT menu_version_single_row CHECK (id = 1)
+);
+INSERT INTO menu_version (id, version) VALUES (1, 0);
@@ -0,0 +1,26 @@
+-- Hourly and daily sales per menu item, per category and in total. Buckets start on the hour / day in the
+-- session time zone, like order_daily_summaries. Rows only ever receive additive deltas, so archival of the
+-- underlying orders does not change them.
+CREATE TABLE sales_rollups (
+    granularity   varchar(8)               NOT NULL,
+    dimension     varchar(16)              NOT NULL,
+    bucket_start  timestamp with time zone NOT NULL,
+    dimension_key varchar(255)             NOT NULL,
+    label         varchar(255)             NOT NULL,
+    quantity      bigint                   NOT NULL,
+    revenue       numeric(14, 2)           NOT NULL,
+    order_count   bigint                   NOT NULL,
+    updated_at    timestamp with time zone NOT NULL,
+    CONSTRAINT sales_rollups_pkey PRIMARY KEY (granularity, dimension, bucket_start, dimension_key),
+    CONSTRAINT sales_rollups_granularity_check CHECK (granularity IN ('HOUR', 'DAY')),
+    CONSTRAINT sales_rollups_dimension_check CHECK (dimension IN ('ITEM', 'CATEGORY', 'TOTAL'))
+);
+
+-- Orders created at or before rolled_up_to are in sales_rollups; NULL until the first backfill finishes
+CREATE TABLE sales_rollup_state (
+    id           integer NOT NULL,
+    rolled_up_to timestamp with time zone,
+    CONSTRAINT sales_rollup_state_pkey PRIMARY KEY (id),
+    CONSTRAINT sales_rollup_state_single_row CHECK (id = 1)
+);
+INSERT INTO sales_rollup_state (id, rolled_up_to) VALUES (1, NULL);
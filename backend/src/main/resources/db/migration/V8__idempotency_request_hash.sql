@@ -0,0 +1,2 @@
+-- SHA-256 of the request a key was first used with; NULL for keys stored before it was recorded
+ALTER TABLE idempotency_keys ADD COLUMN request_hash varchar(64);
@@ -0,0 +1,13 @@
+-- The in-memory slot index only sees bookings made through its own node; the database rejects a
+-- second booked reservation for a table whose time range overlaps an existing one
+CREATE EXTENSION IF NOT EXISTS btree_gist;
+
+-- Overlaps taken on different nodes before this constraint existed: the earlier booking keeps the table
+UPDATE reservations r SET status = 'CANCELLED', version = COALESCE(version, 0) + 1
+ WHERE r.status = 'BOOKED'
+   AND EXISTS (SELECT 1 FROM reservations o
+                WHERE o.status = 'BOOKED' AND o.table_number = r.table_number AND o.id < r.id
+                  AND tstzrange(o.starts_at, o.ends_at) && tstzrange(r.starts_at, r.ends_at));
+
+ALTER TABLE reservations ADD CONSTRAINT reservations_no_overlap
+    EXCLUDE USING gist (table_number WITH =, tstzrange(starts_at, ends_at) WITH &&) WHERE (status = 'BOOKED');
@@ -0,0 +1,97 @@
+package com.moonlight.benchmarks;
+
+import com.moonlight.moonlightbackend.dto.CreateOrderRequest;
+import com.moonlight.moonlightbackend.dto.CreateOrderRequestItem;
+import com.moonlight.moonlightbackend.dto.MenuItemView;
+import com.moonlight.moonlightbackend.model.MenuItem;
+import com.moonlight.moonlightbackend.model.Order;
+import com.moonlight.moonlightbackend.model.OrderItem;
+import com.moonlight.moonlightbackend.model.OrderStatus;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Deterministic data shaped like the seeded menu, so runs are comparable across releases.
+ */
+final class Fixtures {
+
+    private static final String[] CATEGORIES = {"Appetizers", "Main Course", "Breads", "Rice", "Desserts", "Beverages"};
+    private static final Instant CREATED_AT = Instant.parse("2025-01-01T12:00:00Z");
+
+    private Fixtures() {
+    }
+
+    static List<MenuItem> menuItems(int count) {
+        List<MenuItem> items = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            MenuItem mi = new MenuItem();
+            mi.setId((long) i);
+            mi.setName("Dish " + i);
+            mi.setDescription("House special number " + i + " with seasonal vegetables");
+            mi.setPrice(BigDecimal.valueOf(120 + (i * 37L) % 400, 0).add(new BigDecimal("0.50")));
+            mi.setCategory(CATEGORIES[i % CATEGORIES.length]);
+            mi.setActive(i % 10 != 0);
+            mi.setCreatedAt(CREATED_AT);
+            items.add(mi);
+        }
+        return items;
+    }
+
+    static Map<Long, MenuItemView> activeMenu(List<MenuItem> items) {
+        Map<Long, MenuItemView> byId = new HashMap<>();
+        for (MenuItem mi : items) {
+            if (Boolean.TRUE.equals(mi.getActive())) byId.put(mi.getId(), MenuItemView.from(mi));
+        }
+        return byId;
+    }
+
+    static CreateOrderRequest request(Map<Long, MenuItemView> menu, int lines) {
+        List<Long> ids = new ArrayList<>(menu.keySet());
+        ids.sort(null);
+        List<CreateOrderRequestItem> items = new ArrayList<>(lines);
+        for (int i = 0; i < lines; i++) {
+            CreateOrderRequestItem it = new CreateOrderRequestItem();
+            it.setMenuItemId(ids.get(i % ids.size()));
+            it.setQuantity(1 + i % 3);
+            items.add(it);
+        }
+        CreateOrderRequest req = new CreateOrderRequest();
+        req.setTableNumber(7);
+        req.setEmail("guest@example.com");
+        req.setPhone("9999999999");
+        req.setItems(items);
+        return req;
+    }
+
+    static Order persistedOrder(long id, CreateOrderRequest req, Map<Long, MenuItemView> menu) {
+        Order order = new Order();
+        order.setId(id);
+        order.setTableNumber(req.getTableNumber());
+        order.setEmail(req.getEmail());
+        order.setPhone(req.getPhone());
+        order.setStatus(OrderStatus.PENDING);
+        order.setVersion(0L);
+        order.setCreatedAt(CREATED_AT);
+
+        BigDecimal total = BigDecimal.ZERO;
+        long itemId = id * 100;
+        for (CreateOrderRequestItem it : req.getItems()) {
+            MenuItemView mi = menu.get(it.getMenuItemId());
+            OrderItem oi = new OrderItem();
+            oi.setId(itemId++);
+            oi.setMenuItemId(mi.getId());
+            oi.setName(mi.getName());
+            oi.setUnitPrice(mi.getPrice());
+            oi.setQuantity(it.getQuantity());
+            order.addItem(oi);
+            total = total.add(mi.getPrice().multiply(BigDecimal.valueOf(it.getQuantity())));
+        }
+        order.setTotalAmount(total);
+        return order;
+    }
+}
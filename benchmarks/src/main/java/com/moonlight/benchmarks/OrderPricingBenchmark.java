@@ -0,0 +1,67 @@
+package com.moonlight.benchmarks;
+
+import com.moonlight.moonlightbackend.dto.CreateOrderRequest;
+import com.moonlight.moonlightbackend.dto.CreateOrderRequestItem;
+import com.moonlight.moonlightbackend.dto.MenuItemView;
+import com.moonlight.moonlightbackend.model.Order;
+import com.moonlight.moonlightbackend.service.OrderService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Pricing and request-to-entity mapping from {@link OrderService#buildOrder}, which
+ * createOrder and the batch endpoint both run before touching the database.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+public class OrderPricingBenchmark {
+
+    @Param({"1", "10", "50"})
+    public int lines;
+
+    private Map<Long, MenuItemView> menu;
+    private CreateOrderRequest request;
+    private OrderService orderService;
+
+    @Setup
+    public void setUp() {
+        menu = Fixtures.activeMenu(Fixtures.menuItems(60));
+        request = Fixtures.request(menu, lines);
+        // buildOrder never touches the repositories or the event publisher
+        orderService = new OrderService(null, null, null, null, new SimpleMeterRegistry());
+    }
+
+    /** The BigDecimal multiply/add loop alone, as a floor for buildOrder. */
+    @Benchmark
+    public BigDecimal pricingLoop() {
+        BigDecimal total = BigDecimal.ZERO;
+        for (CreateOrderRequestItem it : request.getItems()) {
+            MenuItemView mi = menu.get(it.getMenuItemId());
+            total = total.add(mi.getPrice().multiply(BigDecimal.valueOf(it.getQuantity())));
+        }
+        return total;
+    }
+
+    @Benchmark
+    public Order buildOrder() {
+        return orderService.buildOrder(request, menu::get);
+    }
+}
@@ -0,0 +1,101 @@
+package com.moonlight.benchmarks;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.moonlight.moonlightbackend.dto.MenuItemView;
+import com.moonlight.moonlightbackend.dto.OrderView;
+import com.moonlight.moonlightbackend.model.MenuItem;
+import com.moonlight.moonlightbackend.model.Order;
+import com.moonlight.moonlightbackend.service.MenuSnapshot;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson cost of the menu and order payloads, for both the JPA entities and the
+ * read models the endpoints now return, plus a full menu snapshot rebuild.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+public class SerializationBenchmark {
+
+    @Param({"20", "200"})
+    public int menuSize;
+
+    private ObjectMapper objectMapper;
+    private List<MenuItem> menuEntities;
+    private List<MenuItemView> menuViews;
+    private List<Order> orderEntities;
+    private List<OrderView> orderViews;
+
+    @Setup
+    public void setUp() {
+        // Same defaults Spring Boot applies to the application's ObjectMapper
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        menuEntities = Fixtures.menuItems(menuSize);
+        menuViews = menuEntities.stream().map(MenuItemView::from).toList();
+
+        Map<Long, MenuItemView> active = Fixtures.activeMenu(menuEntities);
+        orderEntities = new ArrayList<>();
+        for (int i = 1; i <= 50; i++) {
+            orderEntities.add(Fixtures.persistedOrder(i, Fixtures.request(active, 1 + i % 8), active));
+        }
+        orderViews = orderEntities.stream().map(OrderView::from).toList();
+    }
+
+    @Benchmark
+    public byte[] menuEntities() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(menuEntities);
+    }
+
+    @Benchmark
+    public byte[] menuViews() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(menuViews);
+    }
+
+    @Benchmark
+    public MenuSnapshot menuSnapshot() {
+        return new MenuSnapshot("bench", 1, menuViews, this::write);
+    }
+
+    @Benchmark
+    public byte[] orderEntities() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(orderEntities);
+    }
+
+    @Benchmark
+    public byte[] orderViews() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(orderViews);
+    }
+
+    @Benchmark
+    public List<OrderView> orderEntityToView() {
+        return orderEntities.stream().map(OrderView::from).toList();
+    }
+
+    private byte[] write(Object value) {
+        try {
+            return objectMapper.writeValueAsBytes(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
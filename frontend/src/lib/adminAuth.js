@@ -0,0 +1,5 @@
+// Headers for calls to /api/admin/**; the backend rejects requests without a valid token
+export function adminHeaders(extra = {}) {
+  const token = localStorage.getItem("adminToken");
+  return token ? { ...extra, Authorization: `Bearer ${token}` } : extra;
+}
@@ -12,6 +12,7 @@ import {
   DollarSign
 } from "lucide-react";
 import { toast } from "sonner";
+import { adminHeaders } from "@/lib/adminAuth";
 
 const AdminDashboard = () => {
   const navigate = useNavigate();
@@ -39,23 +40,14 @@ const AdminDashboard = () => {
 
   const fetchStats = async () => {
     try {
-      // Fetch orders
-      const ordersRes = await fetch("http://localhost:8081/api/admin/orders");
-      const orders = await ordersRes.json();
-      
-      // Fetch menu items
-      const menuRes = await fetch("http://localhost:8081/api/admin/menu");
-      const menuItems = await menuRes.json();
-
-      const totalRevenue = orders.reduce((sum, order) => sum + parseFloat(order.totalAmount || 0), 0);
-      const activeItems = menuItems.filter(item => item.active).length;
-      const pending = orders.filter(order => order.status === "PENDING").length;
+      const res = await fetch("http://localhost:8081/api/admin/stats", { headers: adminHeaders() });
+      const data = await res.json();
 
       setStats({
-        totalOrders: orders.length,
-        totalRevenue: totalRevenue,
-        activeMenuItems: activeItems,
-        pendingOrders: pending
+        totalOrders: data.totalOrders,
+        totalRevenue: Number(data.totalRevenue),
+        activeMenuItems: data.activeMenuItems,
+        pendingOrders: data.pendingOrders
       });
     } catch (err) {
       console.error("Failed to fetch stats:", err);
@@ -63,6 +55,7 @@ const AdminDashboard = () => {
   };
 
   const handleLogout = () => {
+    fetch("http://localhost:8081/api/admin/auth/logout", { method: "POST", headers: adminHeaders() }).catch(() => {});
     localStorage.removeItem("adminToken");
     localStorage.removeItem("adminUser");
     toast.success("Logged out successfully");
@@ -14,6 +14,7 @@ import {
   X
 } from "lucide-react";
 import { toast } from "sonner";
+import { adminHeaders } from "@/lib/adminAuth";
 
 const AdminMenu = () => {
   const navigate = useNavigate();
@@ -39,7 +40,7 @@ const AdminMenu = () => {
 
   const fetchMenuItems = async () => {
     try {
-      const res = await fetch("http://localhost:8081/api/admin/menu");
+      const res = await fetch("http://localhost:8081/api/admin/menu", { headers: adminHeaders() });
       const data = await res.json();
       setMenuItems(data);
     } catch (err) {
@@ -60,7 +61,7 @@ const AdminMenu = () => {
     try {
       const res = await fetch("http://localhost:8081/api/admin/menu", {
         method: "POST",
-        headers: { "Content-Type": "application/json" },
+        headers: adminHeaders({ "Content-Type": "application/json" }),
         body: JSON.stringify(formData)
       });
 
@@ -79,7 +80,7 @@ const AdminMenu = () => {
     try {
       const res = await fetch(`http://localhost:8081/api/admin/menu/${id}`, {
         method: "PUT",
-        headers: { "Content-Type": "application/json" },
+        headers: adminHeaders({ "Content-Type": "application/json" }),
         body: JSON.stringify(formData)
       });
 
@@ -98,7 +99,8 @@ const AdminMenu = () => {
 
     try {
       const res = await fetch(`http://localhost:8081/api/admin/menu/${id}`, {
-        method: "DELETE"
+        method: "DELETE",
+        headers: adminHeaders()
       });
 
       if (!res.ok) throw new Error("Failed to delete item");
@@ -113,7 +115,8 @@ const AdminMenu = () => {
   const handleToggleStatus = async (id) => {
     try {
       const res = await fetch(`http://localhost:8081/api/admin/menu/${id}/toggle`, {
-        method: "PATCH"
+        method: "PATCH",
+        headers: adminHeaders()
       });
 
       if (!res.ok) throw new Error("Failed to toggle status");
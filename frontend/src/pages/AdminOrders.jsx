@@ -5,10 +5,12 @@ import { Button } from "@/components/ui/button";
 import { Badge } from "@/components/ui/badge";
 import { ArrowLeft, Clock, CheckCircle, XCircle } from "lucide-react";
 import { toast } from "sonner";
+import { adminHeaders } from "@/lib/adminAuth";
 
 const AdminOrders = () => {
   const navigate = useNavigate();
   const [orders, setOrders] = useState([]);
+  const [nextCursor, setNextCursor] = useState(null);
   const [filter, setFilter] = useState("ALL");
 
   useEffect(() => {
@@ -18,15 +20,41 @@ const AdminOrders = () => {
       return;
     }
     fetchOrders();
-  }, [navigate]);
+  }, [navigate, filter]);
 
-  const fetchOrders = async () => {
+  // Live updates from the kitchen feed; EventSource resumes with Last-Event-ID on reconnect
+  useEffect(() => {
+    const token = encodeURIComponent(localStorage.getItem("adminToken") || "");
+    const source = new EventSource(`http://localhost:8081/api/admin/orders/stream?access_token=${token}`);
+    const matches = (status) => filter === "ALL" || filter === status;
+
+    source.addEventListener("order-created", (e) => {
+      const order = JSON.parse(e.data);
+      if (matches(order.status)) {
+        setOrders((prev) => [order, ...prev.filter((o) => o.id !== order.id)]);
+      }
+    });
+    source.addEventListener("order-status", (e) => {
+      const change = JSON.parse(e.data);
+      setOrders((prev) => prev
+        .map((o) => (o.id === change.id ? { ...o, status: change.status } : o))
+        .filter((o) => o.id !== change.id || matches(change.status)));
+    });
+    source.addEventListener("reset", () => fetchOrders());
+
+    return () => source.close();
+  }, [filter]);
+
+  // Pages arrive newest first; pass a cursor to append the next page
+  const fetchOrders = async (cursor) => {
     try {
-      const res = await fetch("http://localhost:8081/api/admin/orders");
-      const data = await res.json();
-      // Sort by newest first
-      data.sort((a, b) => new Date(b.createdAt) - new Date(a.createdAt));
-      setOrders(data);
+      const params = new URLSearchParams({ limit: "50" });
+      if (filter !== "ALL") params.set("status", filter);
+      if (cursor) params.set("cursor", cursor);
+      const res = await fetch(`http://localhost:8081/api/admin/orders?${params}`, { headers: adminHeaders() });
+      const page = await res.json();
+      setOrders(cursor ? (prev) => [...prev, ...page.items] : page.items);
+      setNextCursor(page.nextCursor);
     } catch (err) {
       toast.error("Failed to load orders");
     }
@@ -36,14 +64,13 @@ const AdminOrders = () => {
     try {
       const res = await fetch(`http://localhost:8081/api/admin/orders/${orderId}/status`, {
         method: "PATCH",
-        headers: { "Content-Type": "application/json" },
+        headers: adminHeaders({ "Content-Type": "application/json" }),
         body: JSON.stringify({ status: newStatus })
       });
 
       if (!res.ok) throw new Error("Failed to update status");
 
       toast.success(`Order status updated to ${newStatus}`);
-      fetchOrders();
     } catch (err) {
       toast.error(err.message);
     }
@@ -60,9 +87,7 @@ const AdminOrders = () => {
     return <Badge variant={variants[status] || "default"}>{status}</Badge>;
   };
 
-  const filteredOrders = filter === "ALL" 
-    ? orders 
-    : orders.filter(order => order.status === filter);
+  const filteredOrders = orders;
 
   return (
     <div className="min-h-screen bg-background">
@@ -185,6 +210,14 @@ const AdminOrders = () => {
             ))
           )}
         </div>
+
+        {nextCursor && (
+          <div className="flex justify-center mt-6">
+            <Button onClick={() => fetchOrders(nextCursor)} variant="outline">
+              Load more
+            </Button>
+          </div>
+        )}
       </div>
     </div>
   );
@@ -14,6 +14,9 @@ const Checkout = () => {
   const navigate = useNavigate();
   const { cart = [], totalPrice = 0, tableNumber: qrTableNumber = "" } = location.state || {};
   
+  // One key per checkout so network retries cannot create a second order
+  const [idempotencyKey] = useState(() => crypto.randomUUID());
+
   const [userDetails, setUserDetails] = useState({
     email: "",
     phone: "",
@@ -71,7 +74,7 @@ const Checkout = () => {
 
       const res = await fetch("http://localhost:8081/api/orders", {
         method: "POST",
-        headers: { "Content-Type": "application/json" },
+        headers: { "Content-Type": "application/json", "Idempotency-Key": idempotencyKey },
         body: JSON.stringify(payload),
       });
 
@@ -1,4 +1,4 @@
-import { useState } from "react";
+import { useEffect, useState } from "react";
 import { useLocation, useNavigate } from "react-router-dom";
 import Navbar from "@/components/Navbar";
 import { Card } from "@/components/ui/card";
@@ -15,6 +15,9 @@ const TableReservation = () => {
   const navigate = useNavigate();
   const { cart = [], totalPrice = 0 } = location.state || {};
   
+  // One key per checkout so network retries cannot create a second order
+  const [idempotencyKey] = useState(() => crypto.randomUUID());
+
   const [reservationData, setReservationData] = useState({
     tableNumber: "",
     date: "",
@@ -31,6 +34,32 @@ const TableReservation = () => {
   });
 
   const [step, setStep] = useState(1);
+  // Free tables for the chosen date/time/party size; null until all three are set
+  const [availableTables, setAvailableTables] = useState(null);
+  const [reservation, setReservation] = useState(null);
+
+  const loadAvailability = async () => {
+    const { date, time, guests } = reservationData;
+    if (!date || !time) {
+      setAvailableTables(null);
+      return;
+    }
+    try {
+      const params = new URLSearchParams({ date, time, guests });
+      const res = await fetch(`http://localhost:8081/api/reservations/availability?${params}`);
+      if (!res.ok) throw new Error();
+      setAvailableTables(await res.json());
+    } catch {
+      setAvailableTables(null);
+    }
+  };
+
+  useEffect(() => {
+    loadAvailability();
+  }, [reservationData.date, reservationData.time, reservationData.guests]);
+
+  const isTableFree = (num) => !availableTables || availableTables.some((t) => t.tableNumber === num);
+  const tableCapacity = (num) => availableTables?.find((t) => t.tableNumber === num)?.capacity;
 
   const handleReservationChange = (e) => {
     setReservationData({
@@ -53,12 +82,37 @@ const TableReservation = () => {
     });
   };
 
-  const proceedToPayment = () => {
+  const proceedToPayment = async () => {
     if (!reservationData.tableNumber || !reservationData.date || !reservationData.time) {
       toast.error("Please complete all required reservation details");
       return;
     }
-    setStep(2);
+    if (reservation) {
+      setStep(2);
+      return;
+    }
+    try {
+      const res = await fetch("http://localhost:8081/api/reservations", {
+        method: "POST",
+        headers: { "Content-Type": "application/json" },
+        body: JSON.stringify({
+          tableNumber: parseInt(reservationData.tableNumber, 10),
+          date: reservationData.date,
+          time: reservationData.time,
+          guests: parseInt(reservationData.guests, 10),
+          specialRequests: reservationData.specialRequests,
+        }),
+      });
+      if (!res.ok) {
+        const err = await res.json().catch(() => ({}));
+        if (res.status === 409) loadAvailability();
+        throw new Error(err.message || "Could not reserve this table");
+      }
+      setReservation(await res.json());
+      setStep(2);
+    } catch (err) {
+      toast.error(err.message || "Could not reserve this table");
+    }
   };
 
   const handlePayment = async (e) => {
@@ -80,7 +134,7 @@ const TableReservation = () => {
       };
       const res = await fetch("http://localhost:8081/api/orders", {
         method: "POST",
-        headers: { "Content-Type": "application/json" },
+        headers: { "Content-Type": "application/json", "Idempotency-Key": idempotencyKey },
         body: JSON.stringify(payload),
       });
       if (!res.ok) {
@@ -88,7 +142,7 @@ const TableReservation = () => {
         throw new Error(err.message || "Failed to create order");
       }
       const order = await res.json();
-      toast.success(`Order #${order.id} created. Reservation confirmed.`);
+      toast.success(`Order #${order.id} created. Reservation #${reservation?.id} confirmed.`);
       setTimeout(() => navigate("/"), 1500);
     } catch (err) {
       toast.error(err.message || "Something went wrong creating your order");
@@ -127,15 +181,20 @@ const TableReservation = () => {
                         <button
                           key={num}
                           onClick={() => handleTableSelection(num)}
-                          className={`p-6 rounded-lg border-2 transition-all hover:scale-105 ${
-                            reservationData.tableNumber === num.toString()
-                              ? "border-secondary bg-secondary/10 shadow-glow"
-                              : "border-border hover:border-secondary/50"
+                          disabled={!isTableFree(num) || !!reservation}
+                          className={`p-6 rounded-lg border-2 transition-all ${
+                            !isTableFree(num)
+                              ? "border-border opacity-40 cursor-not-allowed"
+                              : reservationData.tableNumber === num.toString()
+                              ? "border-secondary bg-secondary/10 shadow-glow hover:scale-105"
+                              : "border-border hover:border-secondary/50 hover:scale-105"
                           }`}
                         >
                           <div className="text-center">
                             <div className="text-2xl font-heading font-bold mb-1">{num}</div>
-                            <div className="text-xs text-muted-foreground">Table</div>
+                            <div className="text-xs text-muted-foreground">
+                              {!isTableFree(num) ? "Unavailable" : tableCapacity(num) ? `Seats ${tableCapacity(num)}` : "Table"}
+                            </div>
                           </div>
                         </button>
                       ))}
@@ -167,6 +226,7 @@ const TableReservation = () => {
                             name="date"
                             value={reservationData.date}
                             onChange={handleReservationChange}
+                            disabled={!!reservation}
                             required
                             className="w-full"
                           />
@@ -181,6 +241,7 @@ const TableReservation = () => {
                             name="time"
                             value={reservationData.time}
                             onChange={handleReservationChange}
+                            disabled={!!reservation}
                             required
                             className="w-full"
                           />
@@ -195,6 +256,7 @@ const TableReservation = () => {
                           name="guests"
                           value={reservationData.guests}
                           onChange={handleReservationChange}
+                          disabled={!!reservation}
                           className="w-full p-2 rounded-md border border-input bg-background"
                         >
                           {[1, 2, 3, 4, 5, 6, 7, 8].map(num => (
@@ -0,0 +1,24 @@
+package com.moonlight.loadtest;
+
+/**
+ * Traffic classes in the mix, keyed the way they are written in loadtest.mix and the report.
+ */
+enum Endpoint {
+    MENU("menu"),
+    ORDER("order"),
+    ADMIN_LIST("admin-list"),
+    ADMIN_STATUS("admin-status");
+
+    final String key;
+
+    Endpoint(String key) {
+        this.key = key;
+    }
+
+    static Endpoint fromKey(String key) {
+        for (Endpoint e : values()) {
+            if (e.key.equals(key)) return e;
+        }
+        throw new IllegalArgumentException("Unknown endpoint in loadtest.mix: " + key);
+    }
+}
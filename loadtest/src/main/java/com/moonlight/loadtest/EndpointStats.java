@@ -0,0 +1,73 @@
+package com.moonlight.loadtest;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Latencies and outcomes for one endpoint. Latency is measured from the request's
+ * scheduled start, so a stalled server is charged for the requests queued behind it.
+ */
+final class EndpointStats {
+
+    private long[] latencies = new long[4096];
+    private int count;
+    private long errors;
+    private long dropped;
+    private long skipped;
+    private final Map<Integer, Long> statusCodes = new TreeMap<>();
+
+    synchronized void record(long latencyNanos, int status) {
+        if (count == latencies.length) latencies = Arrays.copyOf(latencies, count * 2);
+        latencies[count++] = latencyNanos;
+        statusCodes.merge(status, 1L, Long::sum);
+        if (status == 0 || status >= 500) errors++;
+    }
+
+    synchronized void drop() {
+        dropped++;
+    }
+
+    /** admin-status slot with no open order to advance yet. */
+    synchronized void skip() {
+        skipped++;
+    }
+
+    synchronized Map<String, Object> summarize(double seconds) {
+        long[] sorted = Arrays.copyOf(latencies, count);
+        Arrays.sort(sorted);
+        Map<String, Object> latency = new LinkedHashMap<>();
+        latency.put("p50", millis(percentile(sorted, 0.50)));
+        latency.put("p99", millis(percentile(sorted, 0.99)));
+        latency.put("p999", millis(percentile(sorted, 0.999)));
+        latency.put("max", millis(count == 0 ? 0 : sorted[count - 1]));
+        latency.put("mean", millis(count == 0 ? 0 : (long) Arrays.stream(sorted).average().orElse(0)));
+
+        Map<String, Object> out = new LinkedHashMap<>();
+        out.put("requests", count);
+        out.put("errors", errors);
+        out.put("dropped", dropped);
+        out.put("skipped", skipped);
+        out.put("throughputPerSecond", round(count / seconds));
+        out.put("latencyMs", latency);
+        Map<String, Long> codes = new LinkedHashMap<>();
+        statusCodes.forEach((k, v) -> codes.put(k == 0 ? "io-error" : String.valueOf(k), v));
+        out.put("statusCodes", codes);
+        return out;
+    }
+
+    private static long percentile(long[] sorted, double p) {
+        if (sorted.length == 0) return 0;
+        int idx = (int) Math.ceil(p * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(idx, sorted.length - 1))];
+    }
+
+    private static double millis(long nanos) {
+        return round(nanos / 1_000_000.0);
+    }
+
+    private static double round(double v) {
+        return Math.round(v * 1000) / 1000.0;
+    }
+}
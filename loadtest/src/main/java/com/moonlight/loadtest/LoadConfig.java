@@ -0,0 +1,59 @@
+package com.moonlight.loadtest;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Run settings, read from -Dloadtest.* system properties (the pom passes them through).
+ */
+final class LoadConfig {
+
+    final String target;
+    final int ratePerSecond;
+    final Duration duration;
+    final Duration warmup;
+    final Map<Endpoint, Integer> mix;
+    final int maxInFlight;
+    final String output;
+
+    private LoadConfig(String target, int ratePerSecond, Duration duration, Duration warmup,
+                       Map<Endpoint, Integer> mix, int maxInFlight, String output) {
+        this.target = target;
+        this.ratePerSecond = ratePerSecond;
+        this.duration = duration;
+        this.warmup = warmup;
+        this.mix = mix;
+        this.maxInFlight = maxInFlight;
+        this.output = output;
+    }
+
+    static LoadConfig fromSystemProperties() {
+        int rate = Integer.parseInt(System.getProperty("loadtest.rps", "200"));
+        if (rate < 1) throw new IllegalArgumentException("loadtest.rps must be at least 1");
+        return new LoadConfig(
+                System.getProperty("loadtest.target", "").trim(),
+                rate,
+                Duration.ofSeconds(Long.parseLong(System.getProperty("loadtest.duration", "60"))),
+                Duration.ofSeconds(Long.parseLong(System.getProperty("loadtest.warmup", "10"))),
+                parseMix(System.getProperty("loadtest.mix", "menu=70,order=20,admin-list=7,admin-status=3")),
+                Integer.parseInt(System.getProperty("loadtest.max-in-flight", "1000")),
+                System.getProperty("loadtest.output", "target/loadtest-results.json"));
+    }
+
+    boolean embedded() {
+        return target.isEmpty();
+    }
+
+    private static Map<Endpoint, Integer> parseMix(String spec) {
+        Map<Endpoint, Integer> mix = new EnumMap<>(Endpoint.class);
+        for (String part : spec.split(",")) {
+            String[] kv = part.trim().split("=");
+            if (kv.length != 2) throw new IllegalArgumentException("Bad loadtest.mix entry: " + part);
+            int weight = Integer.parseInt(kv[1].trim());
+            if (weight > 0) mix.put(Endpoint.fromKey(kv[0].trim()), weight);
+        }
+        if (mix.isEmpty()) throw new IllegalArgumentException("loadtest.mix selects no endpoints");
+        return mix;
+    }
+}
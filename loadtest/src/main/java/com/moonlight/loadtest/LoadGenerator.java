@@ -0,0 +1,189 @@
+package com.moonlight.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.moonlight.moonlightbackend.model.OrderStatus;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-model generator: requests start on a fixed schedule whatever the server's
+ * response time, so a slow server shows up as latency instead of a lower send rate.
+ */
+final class LoadGenerator {
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    private final LoadConfig config;
+    private final String baseUrl;
+    private final HttpClient client;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Map<Endpoint, EndpointStats> stats = new EnumMap<>(Endpoint.class);
+    private final AtomicInteger inFlight = new AtomicInteger();
+    // Orders created during the run that admin-status traffic walks through the lifecycle
+    private final ConcurrentLinkedQueue<OpenOrder> openOrders = new ConcurrentLinkedQueue<>();
+    private final Random random = new Random(42);
+
+    private Endpoint[] wheel;
+    private List<Long> menuIds;
+    private String adminToken;
+
+    LoadGenerator(LoadConfig config, String baseUrl) {
+        this.config = config;
+        this.baseUrl = baseUrl;
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        for (Endpoint e : Endpoint.values()) stats.put(e, new EndpointStats());
+
+        List<Endpoint> slots = new ArrayList<>();
+        config.mix.forEach((endpoint, weight) -> {
+            for (int i = 0; i < weight; i++) slots.add(endpoint);
+        });
+        this.wheel = slots.toArray(new Endpoint[0]);
+    }
+
+    void prepare(String username, String password) throws IOException, InterruptedException {
+        HttpResponse<String> menu = client.send(get("/api/menu").build(), HttpResponse.BodyHandlers.ofString());
+        if (menu.statusCode() != 200) throw new IllegalStateException("GET /api/menu returned " + menu.statusCode());
+        menuIds = new ArrayList<>();
+        for (JsonNode item : objectMapper.readTree(menu.body())) menuIds.add(item.get("id").asLong());
+        if (menuIds.isEmpty()) throw new IllegalStateException("Menu is empty; nothing to order");
+
+        if (config.mix.containsKey(Endpoint.ADMIN_LIST) || config.mix.containsKey(Endpoint.ADMIN_STATUS)) {
+            String body = objectMapper.writeValueAsString(Map.of("username", username, "password", password));
+            HttpResponse<String> login = client.send(post("/api/admin/auth/login", body).build(),
+                    HttpResponse.BodyHandlers.ofString());
+            if (login.statusCode() != 200) throw new IllegalStateException("Admin login returned " + login.statusCode());
+            adminToken = objectMapper.readTree(login.body()).get("token").asText();
+        }
+    }
+
+    Map<String, Object> run() throws InterruptedException {
+        long interval = TimeUnit.SECONDS.toNanos(1) / config.ratePerSecond;
+        long start = System.nanoTime();
+        long measureFrom = start + config.warmup.toNanos();
+        long end = measureFrom + config.duration.toNanos();
+
+        for (long i = 0; ; i++) {
+            long intended = start + i * interval;
+            if (intended >= end) break;
+            long wait;
+            while ((wait = intended - System.nanoTime()) > 0) LockSupport.parkNanos(wait);
+            fire(wheel[random.nextInt(wheel.length)], intended, intended >= measureFrom);
+        }
+
+        long drainUntil = System.nanoTime() + REQUEST_TIMEOUT.toNanos();
+        while (inFlight.get() > 0 && System.nanoTime() < drainUntil) Thread.sleep(50);
+
+        double seconds = config.duration.toNanos() / 1e9;
+        Map<String, Object> endpoints = new LinkedHashMap<>();
+        for (Endpoint e : config.mix.keySet()) endpoints.put(e.key, stats.get(e).summarize(seconds));
+        return endpoints;
+    }
+
+    private void fire(Endpoint endpoint, long intended, boolean measured) {
+        EndpointStats s = stats.get(endpoint);
+        HttpRequest request;
+        OpenOrder advancing = null;
+        switch (endpoint) {
+            case MENU -> request = get("/api/menu").build();
+            case ORDER -> request = post("/api/orders", orderBody())
+                    .header("Idempotency-Key", UUID.randomUUID().toString())
+                    .build();
+            case ADMIN_LIST -> request = admin(get("/api/admin/orders?limit=50")).build();
+            case ADMIN_STATUS -> {
+                advancing = openOrders.poll();
+                if (advancing == null) {
+                    if (measured) s.skip();
+                    return;
+                }
+                request = admin(HttpRequest.newBuilder(URI.create(baseUrl + "/api/admin/orders/" + advancing.id + "/status"))
+                        .timeout(REQUEST_TIMEOUT)
+                        .header("Content-Type", "application/json")
+                        .method("PATCH", HttpRequest.BodyPublishers.ofString(
+                                "{\"status\":\"" + advancing.next + "\",\"version\":" + advancing.version + "}")))
+                        .build();
+            }
+            default -> throw new IllegalStateException("Unhandled endpoint " + endpoint);
+        }
+
+        if (inFlight.get() >= config.maxInFlight) {
+            if (measured) s.drop();
+            if (advancing != null) openOrders.offer(advancing);
+            return;
+        }
+        inFlight.incrementAndGet();
+        client.sendAsync(request, HttpResponse.BodyHandlers.ofString()).whenComplete((response, error) -> {
+            inFlight.decrementAndGet();
+            long latency = System.nanoTime() - intended;
+            int status = error == null ? response.statusCode() : 0;
+            if (measured) s.record(latency, status);
+            if (status == 200 && (endpoint == Endpoint.ORDER || endpoint == Endpoint.ADMIN_STATUS)) {
+                track(response.body());
+            }
+        });
+    }
+
+    private void track(String body) {
+        try {
+            JsonNode node = objectMapper.readTree(body);
+            OrderStatus status = OrderStatus.parse(node.get("status").asText());
+            forwardStep(status).ifPresent(next ->
+                    openOrders.offer(new OpenOrder(node.get("id").asLong(), next, node.get("version").asLong())));
+        } catch (IOException | RuntimeException ignored) {
+            // Unparseable response already counted under its status code
+        }
+    }
+
+    private static Optional<OrderStatus> forwardStep(OrderStatus status) {
+        return status.next().stream().filter(s -> s != OrderStatus.CANCELLED).findFirst();
+    }
+
+    private String orderBody() {
+        int lines = 1 + random.nextInt(4);
+        StringBuilder sb = new StringBuilder("{\"tableNumber\":").append(1 + random.nextInt(30)).append(",\"items\":[");
+        for (int i = 0; i < lines; i++) {
+            if (i > 0) sb.append(',');
+            sb.append("{\"menuItemId\":").append(menuIds.get(random.nextInt(menuIds.size())))
+                    .append(",\"quantity\":").append(1 + random.nextInt(3)).append('}');
+        }
+        return sb.append("]}").toString();
+    }
+
+    private HttpRequest.Builder get(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path)).timeout(REQUEST_TIMEOUT).GET();
+    }
+
+    private HttpRequest.Builder post(String path, String json) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(REQUEST_TIMEOUT)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json));
+    }
+
+    private HttpRequest.Builder admin(HttpRequest.Builder builder) {
+        return builder.header("Authorization", "Bearer " + adminToken);
+    }
+
+    private record OpenOrder(long id, OrderStatus next, long version) {
+    }
+}
@@ -0,0 +1,78 @@
+package com.moonlight.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.moonlight.moonlightbackend.DemoApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.File;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Starts the backend in-process on the {@code loadtest} profile (H2 in PostgreSQL
+ * mode) unless {@code loadtest.target} points at a running instance, drives the
+ * configured traffic mix and writes per-endpoint results as JSON.
+ */
+public final class LoadTestMain {
+
+    private LoadTestMain() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadConfig config = LoadConfig.fromSystemProperties();
+        ConfigurableApplicationContext app = null;
+        String baseUrl = config.target;
+        int exitCode = 0;
+        try {
+            if (config.embedded()) {
+                app = new SpringApplicationBuilder(DemoApplication.class).profiles("loadtest").run(args);
+                baseUrl = "http://localhost:" + app.getEnvironment().getProperty("local.server.port");
+            }
+            System.out.printf("Load test: %d req/s for %ds (+%ds warm-up) against %s%n",
+                    config.ratePerSecond, config.duration.toSeconds(), config.warmup.toSeconds(), baseUrl);
+
+            LoadGenerator generator = new LoadGenerator(config, baseUrl);
+            generator.prepare(System.getProperty("loadtest.admin-user", "admin"),
+                    System.getProperty("loadtest.admin-password", "admin123"));
+            Map<String, Object> endpoints = generator.run();
+
+            Map<String, Object> report = new LinkedHashMap<>();
+            report.put("finishedAt", Instant.now().toString());
+            report.put("target", config.embedded() ? "embedded (H2, PostgreSQL mode)" : config.target);
+            report.put("javaVersion", Runtime.version().toString());
+            report.put("ratePerSecond", config.ratePerSecond);
+            report.put("durationSeconds", config.duration.toSeconds());
+            report.put("warmupSeconds", config.warmup.toSeconds());
+            Map<String, Integer> mix = new LinkedHashMap<>();
+            config.mix.forEach((e, w) -> mix.put(e.key, w));
+            report.put("mix", mix);
+            report.put("endpoints", endpoints);
+
+            File out = new File(config.output);
+            if (out.getParentFile() != null) out.getParentFile().mkdirs();
+            new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(out, report);
+            printSummary(endpoints);
+            System.out.println("Results written to " + out.getAbsolutePath());
+        } catch (Exception e) {
+            e.printStackTrace();
+            exitCode = 1;
+        } finally {
+            if (app != null) app.close();
+        }
+        System.exit(exitCode);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void printSummary(Map<String, Object> endpoints) {
+        System.out.printf("%-14s %8s %8s %8s %10s %10s %10s%n", "endpoint", "requests", "errors", "req/s", "p50 ms", "p99 ms", "p999 ms");
+        endpoints.forEach((name, value) -> {
+            Map<String, Object> s = (Map<String, Object>) value;
+            Map<String, Object> l = (Map<String, Object>) s.get("latencyMs");
+            System.out.printf("%-14s %8s %8s %8s %10s %10s %10s%n", name, s.get("requests"), s.get("errors"),
+                    s.get("throughputPerSecond"), l.get("p50"), l.get("p99"), l.get("p999"));
+        });
+    }
+}
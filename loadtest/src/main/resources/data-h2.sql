@@ -0,0 +1,25 @@
+-- Seed for the load-test profile (H2 in PostgreSQL mode); mirrors backend V5__seed_menu_and_admin.sql without the Postgres-only parts
+INSERT INTO menu_items (id, name, description, price, category, active, created_at) VALUES
+ (NEXT VALUE FOR menu_items_seq, 'Paneer Tikka','Grilled cottage cheese marinated in spices',250.00,'Appetizers',true, NOW()),
+ (NEXT VALUE FOR menu_items_seq, 'Samosa Platter','Crispy pastry filled with spiced potatoes and peas',150.00,'Appetizers',true, NOW()),
+ (NEXT VALUE FOR menu_items_seq, 'Chicken 65','Spicy deep-fried chicken with curry leaves',280.00,'Appetizers',true, NOW()),
+ (NEXT VALUE FOR menu_items_seq, 'Tandoori Mushroom','Clay oven roasted mushrooms with Indian spices',220.00,'Appetizers',true, NOW()),
+ (NEXT VALUE FOR menu_items_seq, 'Butter Chicken','Tender chicken in rich tomato and butter gravy',450.00,'Main Courses',true, NOW()),
+ (NEXT VALUE FOR menu_items_seq, 'Biryani Special','Fragrant basmati rice with marinated meat and spices',380.00,'Main Courses',true, NOW()),
+ (NEXT VALUE FOR menu_items_seq, 'Palak Paneer','Cottage cheese in creamy spinach curry',320.00,'Main Courses',true, NOW()),
+ (NEXT VALUE FOR menu_items_seq, 'Dal Makhani','Black lentils slow-cooked with butter and cream',280.00,'Main Courses',true, NOW()),
+ (NEXT VALUE FOR menu_items_seq, 'Rogan Josh','Aromatic lamb curry with Kashmiri spices',480.00,'Main Courses',true, NOW()),
+ (NEXT VALUE FOR menu_items_seq, 'Malai Kofta','Vegetable dumplings in creamy cashew gravy',340.00,'Main Courses',true, NOW()),
+ (NEXT VALUE FOR menu_items_seq, 'Gulab Jamun','Soft milk dumplings in rose-flavored syrup',120.00,'Desserts',true, NOW()),
+ (NEXT VALUE FOR menu_items_seq, 'Rasmalai','Cottage cheese patties in sweetened milk',140.00,'Desserts',true, NOW()),
+ (NEXT VALUE FOR menu_items_seq, 'Gajar Halwa','Carrot pudding with nuts and cardamom',130.00,'Desserts',true, NOW()),
+ (NEXT VALUE FOR menu_items_seq, 'Kulfi Falooda','Traditional Indian ice cream with vermicelli',150.00,'Desserts',true, NOW()),
+ (NEXT VALUE FOR menu_items_seq, 'Jalebi','Crispy sweet spirals soaked in sugar syrup',100.00,'Desserts',true, NOW()),
+ (NEXT VALUE FOR menu_items_seq, 'Masala Chai','Spiced Indian tea with milk',60.00,'Beverages',true, NOW()),
+ (NEXT VALUE FOR menu_items_seq, 'Mango Lassi','Sweet yogurt drink with mango pulp',120.00,'Beverages',true, NOW()),
+ (NEXT VALUE FOR menu_items_seq, 'Fresh Lime Soda','Refreshing lime drink with soda',80.00,'Beverages',true, NOW()),
+ (NEXT VALUE FOR menu_items_seq, 'Filter Coffee','South Indian style filtered coffee',70.00,'Beverages',true, NOW()),
+ (NEXT VALUE FOR menu_items_seq, 'Rose Sharbat','Traditional rose-flavored drink',90.00,'Beverages',true, NOW());
+
+INSERT INTO admins (id, username, password, full_name, email, role, active, created_at) VALUES
+ (NEXT VALUE FOR admins_seq, 'admin', 'admin123', 'System Administrator', 'admin@moonlight.com', 'ADMIN', true, NOW());